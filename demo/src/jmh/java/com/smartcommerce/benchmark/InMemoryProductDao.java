@@ -0,0 +1,205 @@
+package com.smartcommerce.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.smartcommerce.cache.CatalogSnapshot;
+import com.smartcommerce.dao.interfaces.ProductDaoInterface;
+import com.smartcommerce.dtos.request.ProductCursor;
+import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.model.Product;
+import com.smartcommerce.search.ProductSearchIndex;
+import com.smartcommerce.sorting.ProductSortField;
+
+/**
+ * ProductDaoInterface backed by an always-warm in-memory catalog snapshot.
+ * Writes replace the snapshot and advance its version, like the cached catalog in ProductDAO;
+ * the "SQL" read paths filter, sort and page the snapshot instead.
+ */
+final class InMemoryProductDao implements ProductDaoInterface {
+
+    private volatile CatalogSnapshot snapshot;
+    private final ProductSearchIndex searchIndex;
+
+    InMemoryProductDao(List<Product> products) {
+        this.snapshot = CatalogSnapshot.of(products, 1, System.currentTimeMillis());
+        this.searchIndex = ProductSearchIndex.build(products);
+    }
+
+    @Override
+    public CatalogSnapshot getCatalogSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public Set<Integer> searchProductIds(String term) {
+        return searchIndex.search(term);
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return snapshot.getProducts();
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public long getProductVersion(int productId) {
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public List<Product> getProductsByCategory(String category) {
+        return snapshot.getProducts().stream()
+                .filter(product -> category.equals(product.getCategoryName()))
+                .sorted(ProductSortField.PRODUCT_NAME.getComparator())
+                .toList();
+    }
+
+    @Override
+    public synchronized boolean addProduct(Product product) {
+        int id = snapshot.getProducts().stream().mapToInt(Product::getProductId).max().orElse(0) + 1;
+        product.setProductId(id);
+        put(product);
+        return true;
+    }
+
+    @Override
+    public Product getProductById(int id) {
+        return snapshot.getProduct(id);
+    }
+
+    @Override
+    public List<Product> getProductsByIds(Collection<Integer> ids) {
+        CatalogSnapshot current = snapshot;
+        List<Product> products = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Product product = current.getProduct(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    @Override
+    public synchronized boolean updateProduct(Product product) {
+        if (!snapshot.containsProduct(product.getProductId())) {
+            return false;
+        }
+        put(product);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean deleteProduct(int id) {
+        CatalogSnapshot current = snapshot;
+        if (!current.containsProduct(id)) {
+            return false;
+        }
+        snapshot = current.withoutProduct(id, current.getVersion() + 1);
+        searchIndex.remove(id);
+        return true;
+    }
+
+    @Override
+    public List<Product> searchProducts(String term) {
+        CatalogSnapshot current = snapshot;
+        Set<Integer> ids = searchIndex.search(term);
+        return ids.stream()
+                .map(current::getProduct)
+                .filter(product -> product != null)
+                .sorted(Comparator.comparingInt(Product::getProductId).reversed())
+                .toList();
+    }
+
+    @Override
+    public List<Product> searchProducts(String term, long offset, int limit) {
+        return searchProducts(term).stream().skip(offset).limit(limit).toList();
+    }
+
+    @Override
+    public List<Product> findProducts(ProductFilterDTO filters, ProductSortField sortField,
+                                      boolean descending, long offset, int limit) {
+        Comparator<Product> order = descending ? sortField.getComparator().reversed() : sortField.getComparator();
+        // Ties are broken by product ID, most recent first, as in the SQL query
+        return filtered(filters)
+                .sorted(order.thenComparing(Comparator.comparingInt(Product::getProductId).reversed()))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Keyset page over the snapshot; the cursor's product must still be in the catalog
+     */
+    @Override
+    public List<Product> findProductsAfter(ProductFilterDTO filters, ProductSortField sortField,
+                                           boolean descending, ProductCursor after, int limit) {
+        Comparator<Product> order = sortField.getComparator().thenComparingInt(Product::getProductId);
+        Comparator<Product> direction = descending ? order.reversed() : order;
+        Product last = after != null ? snapshot.getProduct(after.productId()) : null;
+        return filtered(filters)
+                .filter(product -> last == null || direction.compare(product, last) > 0)
+                .sorted(direction)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public long countProducts(ProductFilterDTO filters) {
+        return filtered(filters).count();
+    }
+
+    @Override
+    public void invalidateCache() {
+        // Always warm; there is nothing to reload
+    }
+
+    @Override
+    public void refreshProduct(int productId) {
+        // Products only change through this DAO, so the snapshot is always current
+    }
+
+    @Override
+    public void refreshProducts(Collection<Integer> productIds) {
+        // Same as refreshProduct
+    }
+
+    private void put(Product product) {
+        CatalogSnapshot current = snapshot;
+        snapshot = current.withProduct(product, current.getVersion() + 1);
+        searchIndex.update(product);
+    }
+
+    private Stream<Product> filtered(ProductFilterDTO filters) {
+        Stream<Product> products = snapshot.getProducts().stream();
+        if (filters == null) {
+            return products;
+        }
+        if (filters.category() != null && !filters.category().isBlank()) {
+            products = products.filter(product -> filters.category().trim().equals(product.getCategoryName()));
+        }
+        if (filters.minPrice() != null) {
+            products = products.filter(product -> product.getPrice().compareTo(filters.minPrice()) >= 0);
+        }
+        if (filters.maxPrice() != null) {
+            products = products.filter(product -> product.getPrice().compareTo(filters.maxPrice()) <= 0);
+        }
+        if (filters.searchTerm() != null && !filters.searchTerm().isBlank()) {
+            products = products.filter(product -> ProductSearchIndex.matches(product, filters.searchTerm()));
+        }
+        if (filters.inStock() != null) {
+            products = products.filter(product -> (product.getQuantityAvailable() > 0) == filters.inStock());
+        }
+        return products;
+    }
+}
@@ -0,0 +1,107 @@
+package com.smartcommerce.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.smartcommerce.service.imp.OrderGroupCommitter;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Throughput of concurrent order-shaped writes (one order row plus a conditional stock
+ * decrement) through OrderGroupCommitter, with group commit disabled as the baseline.
+ *
+ * Needs a MySQL database, since the point is the cost of each commit's log flush; set
+ * BENCH_JDBC_URL, BENCH_JDBC_USER and BENCH_JDBC_PASSWORD to point it elsewhere. The
+ * benchmark creates and drops its own tables. The pool has 10 connections, like the
+ * application's default Hikari pool, shared by 32 request threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class OrderGroupCommitBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int PRODUCTS = 100;
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    @Param({"1", "4"})
+    public int flushers;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate orderTransaction;
+    private OrderGroupCommitter committer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(env("BENCH_JDBC_URL",
+                "jdbc:mysql://localhost:3306/smartcommerce_bench?createDatabaseIfNotExist=true"));
+        dataSource.setUsername(env("BENCH_JDBC_USER", "root"));
+        dataSource.setPassword(env("BENCH_JDBC_PASSWORD", ""));
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS bench_orders");
+        jdbc.execute("DROP TABLE IF EXISTS bench_stock");
+        jdbc.execute("CREATE TABLE bench_orders (order_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "product_id INT NOT NULL, quantity INT NOT NULL) ENGINE=InnoDB");
+        jdbc.execute("CREATE TABLE bench_stock (product_id INT PRIMARY KEY, " +
+                "quantity_available INT NOT NULL) ENGINE=InnoDB");
+        for (int productId = 1; productId <= PRODUCTS; productId++) {
+            jdbc.update("INSERT INTO bench_stock VALUES (?, ?)", productId, Integer.MAX_VALUE);
+        }
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        // Stands in for the @Transactional order service: joins the batch when there is one
+        orderTransaction = new TransactionTemplate(transactionManager);
+        committer = new OrderGroupCommitter(transactionManager, groupCommit, 2, 32, flushers, 30000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        committer.shutdown();
+        jdbc.execute("DROP TABLE IF EXISTS bench_orders");
+        jdbc.execute("DROP TABLE IF EXISTS bench_stock");
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Integer placeOrder() {
+        int productId = ThreadLocalRandom.current().nextInt(1, PRODUCTS + 1);
+        return committer.submit(() -> orderTransaction.execute(status -> {
+            jdbc.update("INSERT INTO bench_orders (product_id, quantity) VALUES (?, 1)", productId);
+            return jdbc.update("UPDATE bench_stock SET quantity_available = quantity_available - 1 " +
+                    "WHERE product_id = ? AND quantity_available >= 1", productId);
+        }));
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
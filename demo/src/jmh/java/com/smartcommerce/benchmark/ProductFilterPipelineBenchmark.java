@@ -0,0 +1,90 @@
+package com.smartcommerce.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.smartcommerce.cache.ProductPageCache;
+import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.model.Product;
+import com.smartcommerce.service.imp.ProductServiceImpl;
+import com.smartcommerce.sorting.AdaptiveSortStrategy;
+
+/**
+ * Throughput of the warm-cache product listing pipeline (filter, sort, paginate)
+ * in ProductServiceImpl, against an in-memory catalog.
+ *
+ * The page cache is created with no capacity, so every call runs the full
+ * pipeline instead of returning a cached page.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProductFilterPipelineBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 40;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"none", "category", "categoryInStock", "priceRange", "search", "all"})
+    public String filter;
+
+    @Param({"productName", "price"})
+    public String sortBy;
+
+    private ProductServiceImpl productService;
+    private ProductFilterDTO filters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryProductDao productDao = new InMemoryProductDao(SyntheticCatalog.products(catalogSize));
+        productService = new ProductServiceImpl(productDao, null,
+                new AdaptiveSortStrategy<>(), new ProductPageCache(0));
+
+        String category = SyntheticCatalog.CATEGORIES[0];
+        BigDecimal minPrice = new BigDecimal("100.00");
+        BigDecimal maxPrice = new BigDecimal("1500.00");
+        filters = switch (filter) {
+            case "none" -> null;
+            case "category" -> new ProductFilterDTO(category, null, null, null, null);
+            case "categoryInStock" -> new ProductFilterDTO(category, null, null, null, true);
+            case "priceRange" -> new ProductFilterDTO(null, minPrice, maxPrice, null, null);
+            case "search" -> new ProductFilterDTO(null, null, null, "wireless", null);
+            case "all" -> new ProductFilterDTO(category, minPrice, maxPrice, "wireless", true);
+            default -> throw new IllegalArgumentException("Unknown filter: " + filter);
+        };
+    }
+
+    @Benchmark
+    public List<Product> firstPage() {
+        return productService.getProductsWithPaginationAndFilters(0, PAGE_SIZE, sortBy, "ASC", filters);
+    }
+
+    @Benchmark
+    public List<Product> deepPage() {
+        return productService.getProductsWithPaginationAndFilters(DEEP_PAGE, PAGE_SIZE, sortBy, "ASC", filters);
+    }
+
+    @Benchmark
+    public long count() {
+        return productService.countProductsWithFilters(filters);
+    }
+}
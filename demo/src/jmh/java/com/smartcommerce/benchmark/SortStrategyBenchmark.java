@@ -0,0 +1,81 @@
+package com.smartcommerce.benchmark;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.smartcommerce.model.Product;
+import com.smartcommerce.sorting.AdaptiveSortStrategy;
+import com.smartcommerce.sorting.KeyExtractingSortStrategy;
+import com.smartcommerce.sorting.MergeSortStrategy;
+import com.smartcommerce.sorting.ParallelMergeSortStrategy;
+import com.smartcommerce.sorting.ProductSortField;
+import com.smartcommerce.sorting.RadixSortStrategy;
+import com.smartcommerce.sorting.SortStrategy;
+import com.smartcommerce.sorting.TopKSortStrategy;
+
+/**
+ * Throughput of every SortStrategy on every product sort field, for a full sort
+ * and for the first page of a listing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SortStrategyBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"mergeSort", "parallelMergeSort", "topK", "keyExtracting", "radix", "adaptive"})
+    public String strategy;
+
+    @Param({"PRODUCT_NAME", "PRICE", "CATEGORY_NAME", "QUANTITY", "CREATED_AT", "PRODUCT_ID"})
+    public ProductSortField sortField;
+
+    private List<Product> products;
+    private SortStrategy<Product> sortStrategy;
+    private Comparator<Product> comparator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = SyntheticCatalog.products(catalogSize);
+        comparator = sortField.getComparator();
+        sortStrategy = switch (strategy) {
+            case "mergeSort" -> new MergeSortStrategy<>();
+            case "parallelMergeSort" -> new ParallelMergeSortStrategy<>();
+            case "topK" -> new TopKSortStrategy<>();
+            case "keyExtracting" -> new KeyExtractingSortStrategy<>();
+            case "radix" -> new RadixSortStrategy<>();
+            case "adaptive" -> new AdaptiveSortStrategy<>();
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        };
+    }
+
+    @Benchmark
+    public List<Product> fullSort() {
+        return sortStrategy.sort(products, comparator);
+    }
+
+    @Benchmark
+    public List<Product> firstPage() {
+        return sortStrategy.sortTopK(products, comparator, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,55 @@
+package com.smartcommerce.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.smartcommerce.model.Product;
+
+/**
+ * Deterministic synthetic product catalogs for benchmarks.
+ * Products are returned ordered by product ID, most recent first, like the cached catalog.
+ */
+final class SyntheticCatalog {
+
+    static final String[] CATEGORIES = {
+            "Electronics", "Books", "Clothing", "Home & Kitchen", "Sports",
+            "Toys", "Beauty", "Garden", "Automotive", "Grocery"
+    };
+
+    private static final String[] ADJECTIVES = {
+            "Wireless", "Organic", "Portable", "Premium", "Classic", "Smart", "Compact", "Deluxe"
+    };
+    private static final String[] NOUNS = {
+            "Headphones", "Notebook", "Jacket", "Blender", "Football", "Puzzle", "Serum", "Hose", "Charger", "Coffee"
+    };
+
+    private SyntheticCatalog() {
+    }
+
+    static List<Product> products(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        long now = System.currentTimeMillis();
+        List<Product> products = new ArrayList<>(size);
+
+        for (int id = size; id >= 1; id--) {
+            Product product = new Product();
+            product.setProductId(id);
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " +
+                    NOUNS[random.nextInt(NOUNS.length)] + " " + random.nextInt(10_000);
+            product.setProductName(name);
+            product.setDescription("Synthetic " + name.toLowerCase() + " for benchmarking");
+            product.setPrice(BigDecimal.valueOf(random.nextInt(100, 500_000), 2));
+            int categoryId = random.nextInt(CATEGORIES.length);
+            product.setCategoryId(categoryId + 1);
+            product.setCategoryName(CATEGORIES[categoryId]);
+            // About a fifth of the catalog is out of stock
+            product.setQuantityAvailable(random.nextInt(5) == 0 ? 0 : random.nextInt(1, 500));
+            product.setCreatedAt(new Timestamp(now - random.nextLong(365L * 24 * 60 * 60 * 1000)));
+            products.add(product);
+        }
+        return products;
+    }
+}
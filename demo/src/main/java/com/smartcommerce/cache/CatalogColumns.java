@@ -0,0 +1,280 @@
+package com.smartcommerce.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import com.smartcommerce.model.Product;
+
+/**
+ * Columnar mirror of a catalog snapshot.
+ *
+ * Each filterable attribute is stored in a primitive array indexed by catalog
+ * position: price in cents, category ordinal, quantity and product ID. Filters
+ * run as tight loops over these arrays and produce a selection vector of matching
+ * positions, so Product objects are only touched once a result is materialized.
+ *
+ * Category and stock status are additionally indexed as bitmaps over catalog
+ * positions (one per category ordinal, plus in-stock and out-of-stock), so the
+ * common category + stock filters are bitmap ANDs and their counts are a
+ * cardinality. Bitmaps are never modified once the columns are published.
+ */
+public final class CatalogColumns {
+
+    /** Marks a product without a price; such products never match a filter */
+    static final long NO_PRICE = Long.MIN_VALUE;
+    /** Marks a product without a category name */
+    static final int NO_CATEGORY = -1;
+
+    private final Product[] products;
+    private final int[] productIds;
+    private final long[] priceCents;
+    private final int[] categoryOrdinals;
+    private final int[] quantities;
+    private final Map<String, Integer> categoryOrdinalsByName;
+    private final BitSet[] categoryBitmaps;
+    private final BitSet inStockBitmap;
+    private final BitSet outOfStockBitmap;
+
+    private CatalogColumns(Product[] products, int[] productIds, long[] priceCents, int[] categoryOrdinals,
+                           int[] quantities, Map<String, Integer> categoryOrdinalsByName,
+                           BitSet[] categoryBitmaps, BitSet inStockBitmap, BitSet outOfStockBitmap) {
+        this.products = products;
+        this.productIds = productIds;
+        this.priceCents = priceCents;
+        this.categoryOrdinals = categoryOrdinals;
+        this.quantities = quantities;
+        this.categoryOrdinalsByName = categoryOrdinalsByName;
+        this.categoryBitmaps = categoryBitmaps;
+        this.inStockBitmap = inStockBitmap;
+        this.outOfStockBitmap = outOfStockBitmap;
+    }
+
+    /**
+     * Builds the columns for a catalog, preserving its order
+     */
+    public static CatalogColumns of(List<Product> catalog) {
+        int size = catalog.size();
+        Product[] products = catalog.toArray(new Product[0]);
+        int[] productIds = new int[size];
+        long[] priceCents = new long[size];
+        int[] categoryOrdinals = new int[size];
+        int[] quantities = new int[size];
+        Map<String, Integer> ordinalsByName = new HashMap<>();
+        List<BitSet> categoryBitmaps = new ArrayList<>();
+        BitSet inStock = new BitSet(size);
+        BitSet outOfStock = new BitSet(size);
+
+        for (int i = 0; i < size; i++) {
+            Product product = products[i];
+            productIds[i] = product.getProductId();
+            priceCents[i] = priceCents(product);
+            quantities[i] = product.getQuantityAvailable();
+            (quantities[i] > 0 ? inStock : outOfStock).set(i);
+
+            String categoryName = product.getCategoryName();
+            if (categoryName != null) {
+                int ordinal = ordinalsByName.computeIfAbsent(normalize(categoryName), k -> ordinalsByName.size());
+                if (ordinal == categoryBitmaps.size()) {
+                    categoryBitmaps.add(new BitSet(size));
+                }
+                categoryBitmaps.get(ordinal).set(i);
+                categoryOrdinals[i] = ordinal;
+            } else {
+                categoryOrdinals[i] = NO_CATEGORY;
+            }
+        }
+
+        return new CatalogColumns(products, productIds, priceCents, categoryOrdinals, quantities,
+                ordinalsByName, categoryBitmaps.toArray(new BitSet[0]), inStock, outOfStock);
+    }
+
+    /**
+     * Returns columns in which the product at the given position is replaced.
+     * Primitive columns are copied; only the bitmaps whose bits change are cloned,
+     * the others are shared with this instance.
+     */
+    public CatalogColumns withProductAt(int position, Product product) {
+        Product[] newProducts = products.clone();
+        int[] newProductIds = productIds.clone();
+        long[] newPriceCents = priceCents.clone();
+        int[] newCategoryOrdinals = categoryOrdinals.clone();
+        int[] newQuantities = quantities.clone();
+        Map<String, Integer> newOrdinalsByName = categoryOrdinalsByName;
+        BitSet[] newCategoryBitmaps = categoryBitmaps;
+        BitSet newInStock = inStockBitmap;
+        BitSet newOutOfStock = outOfStockBitmap;
+
+        newProducts[position] = product;
+        newProductIds[position] = product.getProductId();
+        newPriceCents[position] = priceCents(product);
+        newQuantities[position] = product.getQuantityAvailable();
+
+        boolean wasInStock = quantities[position] > 0;
+        boolean isInStock = newQuantities[position] > 0;
+        if (wasInStock != isInStock) {
+            newInStock = (BitSet) inStockBitmap.clone();
+            newOutOfStock = (BitSet) outOfStockBitmap.clone();
+            newInStock.set(position, isInStock);
+            newOutOfStock.set(position, !isInStock);
+        }
+
+        int oldOrdinal = categoryOrdinals[position];
+        int newOrdinal = NO_CATEGORY;
+        if (product.getCategoryName() != null) {
+            String name = normalize(product.getCategoryName());
+            Integer known = categoryOrdinalsByName.get(name);
+            if (known != null) {
+                newOrdinal = known;
+            } else {
+                newOrdinal = categoryBitmaps.length;
+                newOrdinalsByName = new HashMap<>(categoryOrdinalsByName);
+                newOrdinalsByName.put(name, newOrdinal);
+                newCategoryBitmaps = Arrays.copyOf(categoryBitmaps, newOrdinal + 1);
+                newCategoryBitmaps[newOrdinal] = new BitSet(products.length);
+            }
+        }
+        if (oldOrdinal != newOrdinal) {
+            if (newCategoryBitmaps == categoryBitmaps) {
+                newCategoryBitmaps = categoryBitmaps.clone();
+            }
+            if (oldOrdinal != NO_CATEGORY) {
+                newCategoryBitmaps[oldOrdinal] = (BitSet) categoryBitmaps[oldOrdinal].clone();
+                newCategoryBitmaps[oldOrdinal].clear(position);
+            }
+            if (newOrdinal != NO_CATEGORY) {
+                newCategoryBitmaps[newOrdinal] = (BitSet) newCategoryBitmaps[newOrdinal].clone();
+                newCategoryBitmaps[newOrdinal].set(position);
+            }
+            newCategoryOrdinals[position] = newOrdinal;
+        }
+
+        return new CatalogColumns(newProducts, newProductIds, newPriceCents, newCategoryOrdinals,
+                newQuantities, newOrdinalsByName, newCategoryBitmaps, newInStock, newOutOfStock);
+    }
+
+    /**
+     * Evaluates the filters over the columns.
+     * Category and stock status are resolved through the bitmaps; price and the
+     * position filter are only checked for the positions that survive them.
+     *
+     * @param category       category name (case-insensitive), or null for any
+     * @param minPrice       inclusive lower price bound, or null
+     * @param maxPrice       inclusive upper price bound, or null
+     * @param inStock        required stock status, or null for any
+     * @param positionFilter additional predicate on catalog positions (e.g. search matches), or null
+     * @return positions of matching products in catalog order
+     */
+    public int[] select(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                        Boolean inStock, IntPredicate positionFilter) {
+        BitSet candidates = candidates(category, inStock);
+        int limit = candidates != null ? candidates.cardinality() : products.length;
+
+        // Product prices have two decimals, so comparing against rounded cent bounds is exact
+        long minCents = minPrice != null ? toCents(minPrice, RoundingMode.CEILING) : NO_PRICE + 1;
+        long maxCents = maxPrice != null ? toCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+
+        int[] selection = new int[limit];
+        int count = 0;
+        int i = candidates != null ? candidates.nextSetBit(0) : (products.length > 0 ? 0 : -1);
+        while (i >= 0 && i < products.length) {
+            long price = priceCents[i];
+            if (price >= minCents && price <= maxCents
+                    && (positionFilter == null || positionFilter.test(i))) {
+                selection[count++] = i;
+            }
+            i = candidates != null ? candidates.nextSetBit(i + 1) : i + 1;
+        }
+
+        return count == limit ? selection : Arrays.copyOf(selection, count);
+    }
+
+    /**
+     * Counts products matching a category and stock status without visiting them
+     *
+     * @param category category name (case-insensitive), or null for any
+     * @param inStock  required stock status, or null for any
+     */
+    public int count(String category, Boolean inStock) {
+        BitSet candidates = candidates(category, inStock);
+        return candidates != null ? candidates.cardinality() : products.length;
+    }
+
+    /**
+     * Selection vector covering the whole catalog
+     */
+    public int[] all() {
+        int[] selection = new int[products.length];
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] = i;
+        }
+        return selection;
+    }
+
+    /**
+     * Materializes the products at the given positions
+     */
+    public List<Product> products(int[] selection) {
+        List<Product> result = new ArrayList<>(selection.length);
+        for (int position : selection) {
+            result.add(products[position]);
+        }
+        return result;
+    }
+
+    public Product product(int position) {
+        return products[position];
+    }
+
+    public int productId(int position) {
+        return productIds[position];
+    }
+
+    public int size() {
+        return products.length;
+    }
+
+    /**
+     * ANDs the category and stock bitmaps.
+     *
+     * @return the matching positions, or null when neither filter is set
+     */
+    private BitSet candidates(String category, Boolean inStock) {
+        BitSet stock = inStock == null ? null : (inStock ? inStockBitmap : outOfStockBitmap);
+
+        if (category == null || category.trim().isEmpty()) {
+            return stock;
+        }
+
+        Integer ordinal = categoryOrdinalsByName.get(normalize(category));
+        if (ordinal == null) {
+            return new BitSet();
+        }
+        if (stock == null) {
+            return categoryBitmaps[ordinal];
+        }
+
+        BitSet combined = (BitSet) categoryBitmaps[ordinal].clone();
+        combined.and(stock);
+        return combined;
+    }
+
+    private static long priceCents(Product product) {
+        return product.getPrice() != null ? toCents(product.getPrice(), RoundingMode.FLOOR) : NO_PRICE;
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.movePointRight(2).setScale(0, roundingMode).longValue();
+    }
+
+    private static String normalize(String categoryName) {
+        return categoryName.trim().toLowerCase(Locale.ROOT);
+    }
+}
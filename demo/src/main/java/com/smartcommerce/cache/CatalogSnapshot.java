@@ -0,0 +1,168 @@
+package com.smartcommerce.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.smartcommerce.model.Product;
+
+/**
+ * Immutable, versioned view of the product catalog.
+ *
+ * A snapshot is never modified after construction. Writes produce a new snapshot
+ * (copy-on-write) that differs from its predecessor by a single entry, so readers
+ * holding a reference always see a complete and consistent catalog.
+ *
+ * Products are kept ordered by product ID (most recent first), matching the order
+ * of the full catalog query.
+ */
+public final class CatalogSnapshot {
+
+    private final List<Product> products;
+    private final Map<Integer, Product> productsById;
+    private final long version;
+    private final long loadedAt;
+    // Derived lazily on first filtered read; racing builders produce identical columns
+    private volatile CatalogColumns columns;
+
+    private CatalogSnapshot(List<Product> products, Map<Integer, Product> productsById,
+                            long version, long loadedAt) {
+        this(products, productsById, version, loadedAt, null);
+    }
+
+    private CatalogSnapshot(List<Product> products, Map<Integer, Product> productsById,
+                            long version, long loadedAt, CatalogColumns columns) {
+        this.products = products;
+        this.productsById = productsById;
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.columns = columns;
+    }
+
+    /**
+     * Builds a snapshot from a freshly loaded catalog.
+     *
+     * @param products products ordered by product ID (most recent first)
+     * @param version  version assigned to this snapshot
+     * @param loadedAt time the catalog was read from the database (epoch millis)
+     */
+    public static CatalogSnapshot of(List<Product> products, long version, long loadedAt) {
+        Map<Integer, Product> byId = new HashMap<>(products.size() * 2);
+        for (Product product : products) {
+            byId.put(product.getProductId(), product);
+        }
+        return new CatalogSnapshot(
+                Collections.unmodifiableList(new ArrayList<>(products)),
+                Collections.unmodifiableMap(byId),
+                version,
+                loadedAt);
+    }
+
+    /**
+     * Returns a new snapshot in which the given product is inserted or replaced.
+     * The load timestamp is carried over so patches do not extend the snapshot TTL.
+     * When an existing product is replaced its position is unchanged, so already
+     * built columns are patched instead of being rebuilt on the next filtered read.
+     */
+    public CatalogSnapshot withProduct(Product product, long newVersion) {
+        int id = product.getProductId();
+        List<Product> updated = new ArrayList<>(products.size() + 1);
+        boolean placed = false;
+        int replacedAt = -1;
+
+        for (Product existing : products) {
+            if (!placed && existing.getProductId() <= id) {
+                placed = true;
+                if (existing.getProductId() == id) {
+                    replacedAt = updated.size();
+                    updated.add(product);
+                    continue;
+                }
+                updated.add(product);
+            }
+            updated.add(existing);
+        }
+        if (!placed) {
+            updated.add(product);
+        }
+
+        Map<Integer, Product> byId = new HashMap<>(productsById);
+        byId.put(id, product);
+
+        CatalogColumns built = columns;
+        return new CatalogSnapshot(
+                Collections.unmodifiableList(updated),
+                Collections.unmodifiableMap(byId),
+                newVersion,
+                loadedAt,
+                built != null && replacedAt >= 0 ? built.withProductAt(replacedAt, product) : null);
+    }
+
+    /**
+     * Returns a new snapshot without the given product, or this snapshot if the
+     * product is not part of the catalog.
+     */
+    public CatalogSnapshot withoutProduct(int productId, long newVersion) {
+        if (!productsById.containsKey(productId)) {
+            return this;
+        }
+
+        List<Product> updated = new ArrayList<>(products.size());
+        for (Product existing : products) {
+            if (existing.getProductId() != productId) {
+                updated.add(existing);
+            }
+        }
+
+        Map<Integer, Product> byId = new HashMap<>(productsById);
+        byId.remove(productId);
+
+        return new CatalogSnapshot(
+                Collections.unmodifiableList(updated),
+                Collections.unmodifiableMap(byId),
+                newVersion,
+                loadedAt);
+    }
+
+    /**
+     * All products, most recent first. The list is unmodifiable and the products
+     * it contains are shared between readers, so they must be treated as read-only.
+     */
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    /**
+     * Columnar mirror of this snapshot, built on first use
+     */
+    public CatalogColumns getColumns() {
+        CatalogColumns built = columns;
+        if (built == null) {
+            built = CatalogColumns.of(products);
+            columns = built;
+        }
+        return built;
+    }
+
+    public Product getProduct(int productId) {
+        return productsById.get(productId);
+    }
+
+    public boolean containsProduct(int productId) {
+        return productsById.containsKey(productId);
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+}
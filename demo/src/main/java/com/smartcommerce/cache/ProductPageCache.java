@@ -0,0 +1,167 @@
+package com.smartcommerce.cache;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.sorting.ProductSortField;
+
+/**
+ * Bounded LRU cache of filtered product pages.
+ *
+ * Entries are keyed by the normalized filter, sort and page together with the
+ * catalog snapshot version, and hold only the product IDs of the page plus the
+ * total number of matches. A page computation also records the count for its
+ * filter, so a page request followed by a count request filters the catalog once.
+ *
+ * Because the version is part of the key, entries computed against an older
+ * snapshot are never returned; they are dropped as soon as a newer version is seen.
+ */
+@Component
+public class ProductPageCache {
+
+    private static final int NO_PAGE = -1;
+
+    private final int maxEntries;
+    private final Map<Key, PageResult> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long currentVersion;
+
+    public ProductPageCache(@Value("${product.page-cache.max-entries:1024}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PageResult> eldest) {
+                return size() > ProductPageCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * One page of product IDs plus the total number of products matching the filter
+     */
+    public record PageResult(int[] productIds, long totalCount) {
+    }
+
+    /**
+     * Returns the cached page, computing and caching it on a miss
+     *
+     * @param version catalog snapshot version the page is computed against
+     * @param compute computes the page; runs outside the cache lock
+     */
+    public PageResult page(ProductFilterDTO filters, ProductSortField sortField, boolean descending,
+                           int pageNumber, int pageSize, long version, Supplier<PageResult> compute) {
+        FilterKey filter = FilterKey.of(filters);
+        Key key = new Key(filter, sortField, descending, pageNumber, pageSize, version);
+
+        PageResult cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        PageResult result = compute.get();
+        put(key, result);
+        put(Key.count(filter, version), new PageResult(null, result.totalCount()));
+        return result;
+    }
+
+    /**
+     * Returns the cached match count for a filter, computing and caching it on a miss
+     */
+    public long count(ProductFilterDTO filters, long version, LongSupplier compute) {
+        Key key = Key.count(FilterKey.of(filters), version);
+
+        PageResult cached = get(key);
+        if (cached != null) {
+            return cached.totalCount();
+        }
+
+        long count = compute.getAsLong();
+        put(key, new PageResult(null, count));
+        return count;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public String getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        double hitRate = total > 0 ? (hitCount * 100.0 / total) : 0;
+        synchronized (this) {
+            return String.format("[PAGE CACHE] Entries: %d/%d, Hits: %d, Misses: %d, Hit Rate: %.1f%%",
+                    entries.size(), maxEntries, hitCount, missCount, hitRate);
+        }
+    }
+
+    private synchronized PageResult get(Key key) {
+        PageResult result = key.version() == currentVersion ? entries.get(key) : null;
+        if (result != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return result;
+    }
+
+    private synchronized void put(Key key, PageResult result) {
+        if (key.version() > currentVersion) {
+            // The catalog moved on; nothing cached so far can be served again
+            entries.clear();
+            currentVersion = key.version();
+        } else if (key.version() < currentVersion) {
+            // Computed against a snapshot that has already been replaced
+            return;
+        }
+        entries.put(key, result);
+    }
+
+    private record Key(FilterKey filter, ProductSortField sortField, boolean descending,
+                       int pageNumber, int pageSize, long version) {
+
+        static Key count(FilterKey filter, long version) {
+            return new Key(filter, null, false, NO_PAGE, 0, version);
+        }
+    }
+
+    /**
+     * Filter criteria normalized so that equivalent requests share an entry:
+     * blank strings become null, text is trimmed and lowercased (category and
+     * search matching are case-insensitive) and prices ignore trailing zeros.
+     */
+    private record FilterKey(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                             String searchTerm, Boolean inStock) {
+
+        private static final FilterKey NONE = new FilterKey(null, null, null, null, null);
+
+        static FilterKey of(ProductFilterDTO filters) {
+            if (filters == null) {
+                return NONE;
+            }
+            return new FilterKey(
+                    normalize(filters.category()),
+                    filters.minPrice() != null ? filters.minPrice().stripTrailingZeros() : null,
+                    filters.maxPrice() != null ? filters.maxPrice().stripTrailingZeros() : null,
+                    normalize(filters.searchTerm()),
+                    filters.inStock());
+        }
+
+        private static String normalize(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.smartcommerce.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.smartcommerce.dtos.response.PagedResponse;
+import com.smartcommerce.dtos.response.ProductResponse;
+
+/**
+ * Cache of built response bodies for the hottest product endpoints: the full catalog,
+ * single products, and the first page of each unfiltered listing.
+ *
+ * Each entry holds a response together with the catalog (or product) version it was
+ * built at. A lookup with a different version rebuilds the response and replaces the
+ * entry, so cached responses expire with the version they were derived from.
+ * Only those three request shapes are cached, so filtered, searched and deeper pages
+ * never churn the entries. Lookups are lock-free; once maxEntries single products or
+ * listings are cached, new keys are served uncached instead of evicting hot ones.
+ * Cached responses are shared between requests and must be treated as read-only.
+ */
+@Component
+public class ProductResponseCache {
+
+    private final int maxEntries;
+    private final AtomicReference<Entry<List<ProductResponse>>> allProducts = new AtomicReference<>();
+    private final ConcurrentMap<Integer, Entry<ProductResponse>> products = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ListingKey, Entry<PagedResponse<ProductResponse>>> firstPages = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ProductResponseCache(@Value("${product.response-cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    private record Entry<T>(long version, T body) {
+    }
+
+    /**
+     * Identifies the first page of an unfiltered listing
+     */
+    public record ListingKey(int size, String sortBy, String sortDirection) {
+    }
+
+    /**
+     * Returns the full catalog response, building and caching it on a miss.
+     * The version must be read before the body is built, so a cached response is
+     * never older than the version it is stored under; the same holds for every lookup.
+     */
+    public List<ProductResponse> allProducts(long version, Supplier<List<ProductResponse>> body) {
+        Entry<List<ProductResponse>> cached = allProducts.get();
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached.body();
+        }
+
+        misses.increment();
+        Entry<List<ProductResponse>> built = new Entry<>(version, body.get());
+        // Keep whichever response is newer if another request raced this one
+        allProducts.accumulateAndGet(built, ProductResponseCache::newer);
+        return built.body();
+    }
+
+    /**
+     * Returns one product's response, building and caching it on a miss
+     *
+     * @param version the product's own version
+     */
+    public ProductResponse product(int productId, long version, Supplier<ProductResponse> body) {
+        return lookup(products, productId, version, body);
+    }
+
+    /**
+     * Returns the first page of an unfiltered listing, building and caching it on a miss
+     *
+     * @param version the catalog version
+     */
+    public PagedResponse<ProductResponse> firstPage(ListingKey key, long version,
+                                                    Supplier<PagedResponse<ProductResponse>> body) {
+        return lookup(firstPages, key, version, body);
+    }
+
+    private <K, T> T lookup(ConcurrentMap<K, Entry<T>> entries, K key, long version, Supplier<T> body) {
+        Entry<T> cached = entries.get(key);
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached.body();
+        }
+
+        misses.increment();
+        if (cached != null) {
+            // Free the slot first, so a product that no longer exists does not keep it
+            entries.remove(key, cached);
+        }
+        Entry<T> built = new Entry<>(version, body.get());
+        if (entries.size() < maxEntries) {
+            entries.merge(key, built, ProductResponseCache::newer);
+        }
+        return built.body();
+    }
+
+    private static <T> Entry<T> newer(Entry<T> current, Entry<T> candidate) {
+        return current == null || current.version() < candidate.version() ? candidate : current;
+    }
+
+    public void clear() {
+        allProducts.set(null);
+        products.clear();
+        firstPages.clear();
+    }
+
+    public String getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        double hitRate = total > 0 ? (hitCount * 100.0 / total) : 0;
+        return String.format("[RESPONSE CACHE] Products: %d/%d, Listings: %d/%d, Hits: %d, Misses: %d, Hit Rate: %.1f%%",
+                products.size(), maxEntries, firstPages.size(), maxEntries, hitCount, missCount, hitRate);
+    }
+}
@@ -0,0 +1,269 @@
+package com.smartcommerce.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-memory ledger of time-limited stock holds placed by shopping carts.
+ *
+ * For every product in use it tracks the stock on hand (as last read from the
+ * Inventory table) and the units held by carts, so availability checks are
+ * answered as (on hand - reserved) without a database query. Each user holds at
+ * most one quantity per product, which is replaced whenever the cart line changes
+ * and expires after the TTL unless the cart is checked out first.
+ *
+ * Expired holds keep counting as reserved until sweep() removes them, so expiry
+ * can only make stock appear scarcer, never oversell it. Products without holds
+ * are dropped on sweep and their stock is re-read on next use.
+ *
+ * The ledger is local to this instance; the conditional stock UPDATE at checkout
+ * remains the final guard against overselling.
+ */
+public class ReservationLedger {
+
+    /**
+     * User ID for availability checks that do not belong to any cart
+     */
+    public static final int NO_USER = -1;
+
+    private final long ttlMillis;
+    private final Function<Collection<Integer>, Map<Integer, Integer>> stockLoader;
+    private final Map<Integer, ProductStock> products = new ConcurrentHashMap<>();
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * @param ttlMillis   how long a hold lasts after it was last placed or changed
+     * @param stockLoader reads the quantity available of products from the database,
+     *                    keyed by product ID; missing products count as out of stock
+     */
+    public ReservationLedger(long ttlMillis, Function<Collection<Integer>, Map<Integer, Integer>> stockLoader) {
+        this.ttlMillis = ttlMillis;
+        this.stockLoader = stockLoader;
+    }
+
+    private record Hold(int quantity, long expiresAt) {
+    }
+
+    /**
+     * Stock and holds of one product, guarded by its own monitor
+     */
+    private static final class ProductStock {
+        final Map<Integer, Hold> holds = new HashMap<>();
+        int onHand;
+        int reserved;
+        // Set when sweep() removes this entry; callers holding it must look the product up again
+        boolean retired;
+
+        ProductStock(int onHand) {
+            this.onHand = onHand;
+        }
+
+        int heldBy(int userId) {
+            Hold hold = holds.get(userId);
+            return hold != null ? hold.quantity() : 0;
+        }
+
+        void put(int userId, int quantity, long expiresAt) {
+            reserved += quantity - heldBy(userId);
+            if (quantity > 0) {
+                holds.put(userId, new Hold(quantity, expiresAt));
+            } else {
+                holds.remove(userId);
+            }
+        }
+    }
+
+    /**
+     * Holds exactly the given quantity of a product for a user, replacing the user's
+     * previous hold on it and restarting its TTL
+     *
+     * @return false if the product does not have that much stock free of other holds;
+     *         the previous hold is then left unchanged
+     */
+    public boolean hold(int userId, int productId, int quantity) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        boolean success = withStock(productId, stock -> {
+            if (quantity > stock.onHand - stock.reserved + stock.heldBy(userId)) {
+                return 0;
+            }
+            stock.put(userId, quantity, expiresAt);
+            return 1;
+        }) == 1;
+
+        (success ? granted : rejected).increment();
+        return success;
+    }
+
+    /**
+     * Sets a user's hold without checking availability, e.g. to undo a change whose
+     * transaction rolled back; a quantity of zero removes the hold
+     */
+    public void restore(int userId, int productId, int quantity) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        withStock(productId, stock -> {
+            stock.put(userId, quantity, expiresAt);
+            return 0;
+        });
+    }
+
+    /**
+     * @return the quantity the user currently holds of a product (expired holds included until swept)
+     */
+    public int heldBy(int userId, int productId) {
+        ProductStock stock = products.get(productId);
+        if (stock == null) {
+            return 0;
+        }
+        synchronized (stock) {
+            return stock.heldBy(userId);
+        }
+    }
+
+    /**
+     * @param userId user whose own hold counts as available, or NO_USER
+     * @return stock on hand that is not held by any other cart
+     */
+    public int available(int productId, int userId) {
+        return withStock(productId, stock -> Math.max(stock.onHand - stock.reserved + stock.heldBy(userId), 0));
+    }
+
+    /**
+     * Confirms that a user holds at least the given quantity of each product, topping up
+     * any hold that is missing or too small from free stock
+     *
+     * @param quantities quantity needed, keyed by product ID
+     * @return false as soon as one product cannot be fully held
+     */
+    public boolean confirm(int userId, Map<Integer, Integer> quantities) {
+        for (Map.Entry<Integer, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (heldBy(userId, entry.getKey()) >= entry.getValue()) {
+                continue;
+            }
+            if (!hold(userId, entry.getKey(), entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops a user's holds on products whose sale has been committed. The stock on hand
+     * is not touched: the caller re-reads it with refresh() first, so the sold units stop
+     * counting as held only once they have left the stock on hand, and are never subtracted twice.
+     */
+    public void consume(int userId, Collection<Integer> productIds) {
+        for (Integer productId : productIds) {
+            release(userId, productId);
+        }
+    }
+
+    public void release(int userId, int productId) {
+        ProductStock stock = products.get(productId);
+        if (stock != null) {
+            synchronized (stock) {
+                stock.put(userId, 0, 0);
+            }
+        }
+    }
+
+    public void releaseAll(int userId) {
+        for (ProductStock stock : products.values()) {
+            synchronized (stock) {
+                stock.put(userId, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Re-reads the stock on hand of the given products, if the ledger tracks them
+     */
+    public void refresh(Collection<Integer> productIds) {
+        List<Integer> tracked = productIds.stream().filter(products::containsKey).toList();
+        if (tracked.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Integer> levels = stockLoader.apply(tracked);
+        for (Integer productId : tracked) {
+            ProductStock stock = products.get(productId);
+            if (stock != null) {
+                synchronized (stock) {
+                    stock.onHand = levels.getOrDefault(productId, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes expired holds, and drops products that no longer have any holds
+     *
+     * @return number of holds that expired
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<Integer, ProductStock> entry : products.entrySet()) {
+            ProductStock stock = entry.getValue();
+            synchronized (stock) {
+                Iterator<Hold> holds = stock.holds.values().iterator();
+                while (holds.hasNext()) {
+                    Hold hold = holds.next();
+                    if (hold.expiresAt() <= now) {
+                        stock.reserved -= hold.quantity();
+                        holds.remove();
+                        removed++;
+                    }
+                }
+                if (stock.holds.isEmpty()) {
+                    stock.retired = true;
+                    products.remove(entry.getKey(), stock);
+                }
+            }
+        }
+        expired.add(removed);
+        return removed;
+    }
+
+    /**
+     * Runs an action on the product's entry under its lock, loading the product's
+     * stock first if it is not tracked yet
+     */
+    private int withStock(int productId, ToIntFunction<ProductStock> action) {
+        while (true) {
+            ProductStock stock = products.get(productId);
+            if (stock == null) {
+                int onHand = stockLoader.apply(List.of(productId)).getOrDefault(productId, 0);
+                stock = products.computeIfAbsent(productId, id -> new ProductStock(onHand));
+            }
+            synchronized (stock) {
+                if (!stock.retired) {
+                    return action.applyAsInt(stock);
+                }
+            }
+        }
+    }
+
+    public String getStats() {
+        int holds = 0;
+        long reserved = 0;
+        for (ProductStock stock : products.values()) {
+            synchronized (stock) {
+                holds += stock.holds.size();
+                reserved += stock.reserved;
+            }
+        }
+        return String.format("[RESERVATIONS] Products: %d, Holds: %d, Units reserved: %d, " +
+                        "Granted: %d, Rejected: %d, Expired: %d",
+                products.size(), holds, reserved, granted.sum(), rejected.sum(), expired.sum());
+    }
+}
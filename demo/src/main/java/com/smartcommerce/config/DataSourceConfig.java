@@ -13,7 +13,7 @@ public class DataSourceConfig {
     public DataSource dataSource() {
         return DataSourceBuilder.create()
                 .driverClassName("com.mysql.cj.jdbc.Driver")
-                .url("jdbc:mysql://localhost:3306/ecommerce_db")
+                .url("jdbc:mysql://localhost:3306/ecommerce_db?rewriteBatchedStatements=true")
                 .username("root")
                 .password("noah_1@23.Djanor")
                 .build();
@@ -0,0 +1,30 @@
+package com.smartcommerce.config;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.smartcommerce.model.Product;
+import com.smartcommerce.sorting.SortStrategy;
+
+/**
+ * Selects the sort strategy used for product listings.
+ * Every strategy is registered as a component under its default bean name
+ * (e.g. mergeSortStrategy, parallelMergeSortStrategy, topKSortStrategy,
+ * keyExtractingSortStrategy, radixSortStrategy, adaptiveSortStrategy); the
+ * sorting.strategy property names the one injected wherever a SortStrategy is required.
+ */
+@Configuration
+public class SortingConfig {
+
+    @Bean
+    @Primary
+    @SuppressWarnings("unchecked")
+    public SortStrategy<Product> productSortStrategy(
+            BeanFactory beanFactory,
+            @Value("${sorting.strategy:mergeSortStrategy}") String strategyName) {
+        return beanFactory.getBean(strategyName, SortStrategy.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.smartcommerce.controller.graphiqlController;
 
 import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.dtos.response.CursorPage;
 import com.smartcommerce.model.Product;
 import com.smartcommerce.service.serviceInterface.ProductService;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -36,6 +37,15 @@ public class ProductGraphQLController {
         return productService.getProductById(id);
     }
 
+    /**
+     * Get several products by ID in one round trip
+     * GraphQL Query: productsByIds(ids: [Int!]!): [Product!]!
+     */
+    @QueryMapping
+    public List<Product> productsByIds(@Argument List<Integer> ids) {
+        return productService.getProductsByIds(ids);
+    }
+
     /**
      * Get all products with optional pagination and filters
      * GraphQL Query: products(...): [Product!]!
@@ -73,12 +83,51 @@ public class ProductGraphQLController {
         return productService.getAllProducts();
     }
 
+    /**
+     * Get products with keyset (cursor) pagination
+     * GraphQL Query: productPage(...): ProductPage!
+     */
+    @QueryMapping
+    public CursorPage<Product> productPage(
+            @Argument Integer pageSize,
+            @Argument String after,
+            @Argument String sortBy,
+            @Argument String sortDirection,
+            @Argument String category,
+            @Argument Double minPrice,
+            @Argument Double maxPrice,
+            @Argument String searchTerm,
+            @Argument Boolean inStock) {
+
+        ProductFilterDTO filters = new ProductFilterDTO(
+                category,
+                minPrice != null ? BigDecimal.valueOf(minPrice) : null,
+                maxPrice != null ? BigDecimal.valueOf(maxPrice) : null,
+                searchTerm,
+                inStock
+        );
+
+        return productService.getProductsAfterCursor(
+                after,
+                pageSize != null ? pageSize : 10,
+                sortBy != null ? sortBy : "productId",
+                sortDirection != null ? sortDirection : "ASC",
+                filters
+        );
+    }
+
     /**
      * Search products by search term
-     * GraphQL Query: searchProducts(searchTerm: String!): [Product!]!
+     * GraphQL Query: searchProducts(searchTerm: String!, pageNumber: Int, pageSize: Int): [Product!]!
      */
     @QueryMapping
-    public List<Product> searchProducts(@Argument String searchTerm) {
+    public List<Product> searchProducts(
+            @Argument String searchTerm,
+            @Argument Integer pageNumber,
+            @Argument Integer pageSize) {
+        if (pageSize != null) {
+            return productService.searchProducts(searchTerm, pageNumber != null ? pageNumber : 0, pageSize);
+        }
         return productService.searchProducts(searchTerm);
     }
 
@@ -5,7 +5,14 @@ import com.smartcommerce.dtos.response.LoginResponse;
 import com.smartcommerce.exception.BusinessException;
 import com.smartcommerce.exception.ErrorResponse;
 import com.smartcommerce.exception.ValidationErrorResponse;
+import com.smartcommerce.model.Product;
+import com.smartcommerce.security.RequiredRole;
+import com.smartcommerce.service.imp.OrderGroupCommitter;
+import com.smartcommerce.service.serviceInterface.InventoryServiceInterface;
+import com.smartcommerce.service.serviceInterface.OrderIntakeService;
 import com.smartcommerce.service.serviceInterface.UserService;
+import com.smartcommerce.sorting.AdaptiveSortStrategy;
+import com.smartcommerce.sorting.SortMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,20 +21,33 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin")
 @Tag(name = "Admin", description = "Admin authentication and management API")
 public class AdminController {
 
     private final UserService userService;
+    private final AdaptiveSortStrategy<Product> adaptiveSortStrategy;
+    private final InventoryServiceInterface inventoryService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderGroupCommitter groupCommitter;
 
-    public AdminController(UserService userService) {
+    public AdminController(UserService userService, AdaptiveSortStrategy<Product> adaptiveSortStrategy,
+                           InventoryServiceInterface inventoryService, OrderIntakeService orderIntakeService,
+                           OrderGroupCommitter groupCommitter) {
         this.userService = userService;
+        this.adaptiveSortStrategy = adaptiveSortStrategy;
+        this.inventoryService = inventoryService;
+        this.orderIntakeService = orderIntakeService;
+        this.groupCommitter = groupCommitter;
     }
 
     @Operation(summary = "Admin login", description = "Authenticates an admin user with email and password")
@@ -51,4 +71,72 @@ public class AdminController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Per-algorithm call counts and latency histograms of the adaptive sort strategy
+     * GET /api/admin/sorting/stats
+     */
+    @Operation(summary = "Sort strategy metrics",
+            description = "Returns how often the adaptive sort strategy chose each algorithm and the latency distribution of those calls")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Admin privileges required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/sorting/stats")
+    @RequiredRole("ADMIN")
+    public ResponseEntity<List<SortMetrics.AlgorithmStats>> getSortingStats() {
+        return ResponseEntity.ok(adaptiveSortStrategy.getMetrics().snapshot());
+    }
+
+    /**
+     * Cart stock reservation counters
+     * GET /api/admin/inventory/reservations
+     */
+    @Operation(summary = "Stock reservation stats",
+            description = "Returns active cart holds, reserved units and how many holds were granted, rejected and expired")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Admin privileges required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/inventory/reservations")
+    @RequiredRole("ADMIN")
+    public ResponseEntity<String> getReservationStats() {
+        return ResponseEntity.ok(inventoryService.getReservationStats());
+    }
+
+    /**
+     * Asynchronous order intake queue depth, throughput and wait times
+     * GET /api/admin/orders/intake/stats
+     */
+    @Operation(summary = "Order intake stats",
+            description = "Returns the intake queue depth, accepted/rejected/completed/failed counts and queue wait times")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Admin privileges required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/orders/intake/stats")
+    @RequiredRole("ADMIN")
+    public ResponseEntity<String> getOrderIntakeStats() {
+        return ResponseEntity.ok(orderIntakeService.getStats());
+    }
+
+    /**
+     * Group commit counters: commits, orders and average orders per commit
+     * GET /api/admin/orders/group-commit/stats
+     */
+    @Operation(summary = "Order group commit stats",
+            description = "Returns how many commits the order group committer made, for how many orders, and the average batch size")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Admin privileges required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/orders/group-commit/stats")
+    @RequiredRole("ADMIN")
+    public ResponseEntity<String> getGroupCommitStats() {
+        return ResponseEntity.ok(groupCommitter.getStats());
+    }
 }
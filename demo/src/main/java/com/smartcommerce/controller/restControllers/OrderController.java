@@ -1,14 +1,19 @@
 package com.smartcommerce.controller.restControllers;
 
 import com.smartcommerce.dtos.request.CreateOrderDTO;
+import com.smartcommerce.dtos.request.OrderFilterDTO;
 import com.smartcommerce.dtos.request.OrderItemDTO;
 import com.smartcommerce.dtos.request.UpdateOrderStatusDTO;
+import com.smartcommerce.dtos.response.CursorPage;
+import com.smartcommerce.dtos.response.OrderIntakeResponse;
 import com.smartcommerce.dtos.response.OrderItemResponse;
 import com.smartcommerce.dtos.response.OrderResponse;
 import com.smartcommerce.exception.ErrorResponse;
 import com.smartcommerce.exception.ValidationErrorResponse;
 import com.smartcommerce.model.Order;
 import com.smartcommerce.model.OrderItem;
+import com.smartcommerce.service.imp.OrderGroupCommitter;
+import com.smartcommerce.service.serviceInterface.OrderIntakeService;
 import com.smartcommerce.service.serviceInterface.OrderService;
 import com.smartcommerce.utils.OrderMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,17 +24,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * REST Controller for Order management
  * Handles HTTP requests for order CRUD operations
+ * With order.intake.enabled, orders and checkouts are queued and answered with 202 and a ticket
+ * Order writes go through the group committer, which batches their commits when enabled
  * Base URL: /api/orders
  */
 @RestController
@@ -38,9 +48,14 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderGroupCommitter groupCommitter;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIntakeService orderIntakeService,
+                           OrderGroupCommitter groupCommitter) {
         this.orderService = orderService;
+        this.orderIntakeService = orderIntakeService;
+        this.groupCommitter = groupCommitter;
     }
 
     /**
@@ -51,13 +66,17 @@ public class OrderController {
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Order created successfully",
                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Order accepted for asynchronous processing",
+                    content = @Content(schema = @Schema(implementation = OrderIntakeResponse.class))),
             @ApiResponse(responseCode = "400", description = "Validation error",
                     content = @Content(schema = @Schema(implementation = ValidationErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "User or product not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Order queue is full",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(
+    public ResponseEntity<?> createOrder(
             @Valid @RequestBody CreateOrderDTO createOrderDTO,
             @RequestAttribute("userId") Integer userId) {
 
@@ -82,7 +101,13 @@ public class OrderController {
 
         order.setTotalAmount(totalAmount);
 
-        Order createdOrder = orderService.createOrder(order, orderItems);
+        if (orderIntakeService.isEnabled()) {
+            return accepted(orderIntakeService.submitOrder(order, orderItems));
+        }
+
+        // A group commit may run the write twice, so each run gets its own copies to fill in
+        Order createdOrder = groupCommitter.submit(() -> orderService.createOrder(new Order(order),
+                orderItems.stream().map(OrderItem::new).toList()));
         OrderResponse response = OrderMapper.toOrderResponse(createdOrder);
 
         return ResponseEntity
@@ -91,16 +116,69 @@ public class OrderController {
     }
 
     /**
-     * Get all orders
-     * GET /api/orders
+     * Get orders one page at a time, most recent first
+     * GET /api/orders?size=20&status=pending&userId=1&fromDate=2026-01-01&toDate=2026-01-31&include=items&cursor=...
+     *
+     * @param cursor  Cursor from a previous response; omit for the first page
+     * @param include Pass "items" to load the items of each order; otherwise items are left out
      */
-    @Operation(summary = "Get all orders", description = "Retrieves all orders in the system")
-    @ApiResponse(responseCode = "200", description = "Orders retrieved successfully")
+    @Operation(summary = "Get orders with keyset pagination and filtering",
+            description = "Retrieves one page of orders ordered by date (most recent first), 20 by default. " +
+                    "Follow nextCursor for further pages. Items are only loaded with include=items")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Order page retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page size, status, date range or cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        List<OrderResponse> response = OrderMapper.toOrderResponseList(orders);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CursorPage<OrderResponse>> getOrders(
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Filter by order status", example = "pending")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Filter by user ID", example = "1")
+            @RequestParam(required = false) Integer userId,
+            @Parameter(description = "Earliest order date (inclusive)", example = "2026-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Latest order date (inclusive)", example = "2026-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Set to \"items\" to include order items", example = "items")
+            @RequestParam(required = false) String include,
+            @Parameter(description = "Cursor from a previous response")
+            @RequestParam(required = false) String cursor) {
+
+        OrderFilterDTO filters = new OrderFilterDTO(status, userId, fromDate, toDate);
+        boolean includeItems = "items".equalsIgnoreCase(include);
+
+        CursorPage<Order> page = orderService.getOrdersPage(cursor, size, filters, includeItems);
+        List<OrderResponse> content = OrderMapper.toOrderResponseList(page.content());
+        if (!includeItems) {
+            // Items were not loaded; leave them out rather than reporting empty orders
+            content.forEach(response -> response.setItems(null));
+        }
+        return ResponseEntity.ok(new CursorPage<>(content, page.nextCursor()));
+    }
+
+    /**
+     * Get the status of an order accepted for asynchronous processing
+     * GET /api/orders/intake/{ticketId}
+     */
+    @Operation(summary = "Get order intake status",
+            description = "Retrieves the status of a queued order; once COMPLETED, fetch the order at GET /api/orders/{orderId}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = OrderIntakeResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Ticket not found or expired",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/intake/{ticketId}")
+    public ResponseEntity<OrderIntakeResponse> getIntakeStatus(
+            @Parameter(description = "Intake ticket ID", required = true)
+            @PathVariable String ticketId,
+            @RequestAttribute("userId") Integer userId) {
+
+        return ResponseEntity.ok(orderIntakeService.getTicket(ticketId, userId));
     }
 
     /**
@@ -239,17 +317,34 @@ public class OrderController {
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Order created successfully from cart",
                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Checkout accepted for asynchronous processing",
+                    content = @Content(schema = @Schema(implementation = OrderIntakeResponse.class))),
             @ApiResponse(responseCode = "400", description = "Cart is empty or insufficient stock",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Order queue is full",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/checkout/{userId}")
-    public ResponseEntity<OrderResponse> checkoutFromCart(
+    public ResponseEntity<?> checkoutFromCart(
             @RequestAttribute("userId") Integer authenticatedUserId) {
 
-        Order order = orderService.checkoutFromCart(authenticatedUserId);
+        if (orderIntakeService.isEnabled()) {
+            return accepted(orderIntakeService.submitCheckout(authenticatedUserId));
+        }
+
+        Order order = groupCommitter.submit(() -> orderService.checkoutFromCart(authenticatedUserId));
         OrderResponse response = OrderMapper.toOrderResponse(order);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    /**
+     * 202 response for a queued order, pointing at its status
+     */
+    private static ResponseEntity<OrderIntakeResponse> accepted(OrderIntakeResponse ticket) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/intake/" + ticket.ticketId()))
+                .body(ticket);
+    }
 }
@@ -1,9 +1,11 @@
 package com.smartcommerce.controller.restControllers;
 
+import com.smartcommerce.cache.ProductResponseCache;
 import com.smartcommerce.dtos.request.CreateProductDTO;
 import com.smartcommerce.dtos.request.ProductFilterDTO;
 import com.smartcommerce.dtos.request.UpdateProductDTO;
 import com.smartcommerce.dtos.request.UpdateProductQuantityDTO;
+import com.smartcommerce.dtos.response.CursorPage;
 import com.smartcommerce.dtos.response.PagedResponse;
 import com.smartcommerce.dtos.response.ProductResponse;
 import com.smartcommerce.exception.ErrorResponse;
@@ -15,6 +17,7 @@ import com.smartcommerce.utils.ProductMapper;
 import com.smartcommerce.validation.ValidSortDirection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,9 +27,11 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * REST Controller for Product management
@@ -38,11 +43,18 @@ import java.util.List;
 @Tag(name = "Products", description = "Product management API — CRUD, search, pagination, and filtering")
 public class ProductController {
 
+    // Versions are counters local to this JVM and restart at 0, so tags also carry the instance
+    // they were issued by; a tag from an earlier boot or another node never matches
+    private static final String INSTANCE_TAG = Long.toString(System.currentTimeMillis(), 36)
+            + "-" + Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
     private final ProductService productService;
+    private final ProductResponseCache responseCache;
 
     // Manual constructor for compatibility
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductResponseCache responseCache) {
         this.productService = productService;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -91,11 +103,22 @@ public class ProductController {
      * GET /api/products/all
      */
     @Operation(summary = "Get all products", description = "Retrieves all products without pagination")
-    @ApiResponse(responseCode = "200", description = "Products retrieved successfully")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match")
+    })
     @GetMapping("/all")
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        List<ProductResponse> response = ProductMapper.toProductResponseList(products);
+    public ResponseEntity<List<ProductResponse>> getAllProducts(WebRequest webRequest) {
+        // Answer 304 before touching the catalog if the client's copy is current
+        long version = productService.getCatalogVersion();
+        if (notModified(webRequest, catalogEtag(version))) {
+            return null;
+        }
+
+        // Serve the response built for this catalog version, skipping the mapping of every product
+        List<ProductResponse> response = responseCache.allProducts(version,
+                () -> ProductMapper.toProductResponseList(productService.getAllProducts()));
         return ResponseEntity.ok(response);
     }
 
@@ -114,11 +137,16 @@ public class ProductController {
      * @param maxPrice      Filter by maximum price
      * @param searchTerm    Search in product name and description
      * @param inStock       Filter by stock status (true=in stock, false=out of stock)
+     * @param cursor        Keyset cursor from a previous response; pass an empty value to start
+     *                      cursor pagination (page is then ignored; not available when sorting
+     *                      by categoryName or quantity)
      */
     @Operation(summary = "Get products with pagination and filtering",
             description = "Retrieves products with support for pagination, sorting, and multiple filter criteria")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Paginated product list retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Paginated product list retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -137,7 +165,35 @@ public class ProductController {
             @Parameter(description = "Minimum price filter") @RequestParam(required = false) BigDecimal minPrice,
             @Parameter(description = "Maximum price filter") @RequestParam(required = false) BigDecimal maxPrice,
             @Parameter(description = "Search in product name and description") @RequestParam(required = false) String searchTerm,
-            @Parameter(description = "Filter by stock status") @RequestParam(required = false) Boolean inStock) {
+            @Parameter(description = "Filter by stock status") @RequestParam(required = false) Boolean inStock,
+            @Parameter(description = "Cursor from a previous response (empty value starts cursor pagination)")
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+
+        // The ETag covers the whole catalog, so it is valid for every page and filter of this URL
+        long version = productService.getCatalogVersion();
+        if (notModified(webRequest, catalogEtag(version))) {
+            return null;
+        }
+
+        // The first page of an unfiltered listing is the hot one; it is built once per catalog version
+        boolean firstPage = page == 0 && cursor == null && category == null && minPrice == null
+                && maxPrice == null && searchTerm == null && inStock == null;
+        if (firstPage) {
+            return ResponseEntity.ok(responseCache.firstPage(
+                    new ProductResponseCache.ListingKey(size, sortBy, sortDirection), version,
+                    () -> buildProductsPage(page, size, sortBy, sortDirection, null, null, null, null, null, null)));
+        }
+        return ResponseEntity.ok(buildProductsPage(
+                page, size, sortBy, sortDirection, category, minPrice, maxPrice, searchTerm, inStock, cursor));
+    }
+
+    /**
+     * Builds one page of products for getProducts
+     */
+    private PagedResponse<ProductResponse> buildProductsPage(
+            int page, int size, String sortBy, String sortDirection, String category,
+            BigDecimal minPrice, BigDecimal maxPrice, String searchTerm, Boolean inStock, String cursor) {
 
         // Create filter DTO
         ProductFilterDTO filters = new ProductFilterDTO(
@@ -148,6 +204,31 @@ public class ProductController {
                 inStock
         );
 
+        // Cursor mode: seek past the last product of the previous page
+        if (cursor != null) {
+            CursorPage<Product> cursorPage = productService.getProductsAfterCursor(
+                    cursor, size, sortBy, sortDirection, filters
+            );
+            // Count once, on the first page; later pages skip the COUNT query and omit the totals
+            boolean firstPage = cursor.isBlank();
+            PagedResponse<ProductResponse> response = new PagedResponse<>(
+                    ProductMapper.toProductResponseList(cursorPage.content()),
+                    0,
+                    size,
+                    firstPage ? productService.countProductsWithFilters(filters) : 0,
+                    sortBy,
+                    sortDirection
+            );
+            if (!firstPage) {
+                response.setTotalElements(null);
+                response.setTotalPages(null);
+            }
+            response.setFirst(firstPage);
+            response.setLast(!cursorPage.hasNext());
+            response.setNextCursor(cursorPage.nextCursor());
+            return response;
+        }
+
         // Get paginated and filtered products
         List<Product> products = productService.getProductsWithPaginationAndFilters(
                 page, size, sortBy, sortDirection, filters
@@ -160,7 +241,7 @@ public class ProductController {
         List<ProductResponse> productResponses = ProductMapper.toProductResponseList(products);
 
         // Create paged response
-        PagedResponse<ProductResponse> response = new PagedResponse<>(
+        return new PagedResponse<>(
                 productResponses,
                 page,
                 size,
@@ -168,8 +249,6 @@ public class ProductController {
                 sortBy,
                 sortDirection
         );
-
-        return ResponseEntity.ok(response);
     }
 
     /**
@@ -180,6 +259,7 @@ public class ProductController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Product found",
                     content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Product unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -187,9 +267,30 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(
             @Parameter(description = "Product ID", required = true, example = "1")
-            @PathVariable int id) {
-        Product product = productService.getProductById(id);
-        ProductResponse response = ProductMapper.toProductResponse(product);
+            @PathVariable int id,
+            WebRequest webRequest) {
+        long version = productService.getProductVersion(id);
+        if (notModified(webRequest, productEtag(id, version))) {
+            return null;
+        }
+
+        ProductResponse response = responseCache.product(id, version,
+                () -> ProductMapper.toProductResponse(productService.getProductById(id)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get several products by ID in one request
+     * GET /api/products/batch?ids=1,2,3
+     */
+    @Operation(summary = "Get products by IDs", description = "Retrieves several products in one request; unknown IDs are skipped")
+    @ApiResponse(responseCode = "200", description = "Products retrieved successfully")
+    @GetMapping("/batch")
+    public ResponseEntity<List<ProductResponse>> getProductsByIds(
+            @Parameter(description = "Comma-separated product IDs (max 100)", required = true, example = "1,2,3")
+            @RequestParam List<Integer> ids) {
+        List<Product> products = productService.getProductsByIds(ids);
+        List<ProductResponse> response = ProductMapper.toProductResponseList(products);
         return ResponseEntity.ok(response);
     }
 
@@ -209,16 +310,23 @@ public class ProductController {
     }
 
     /**
-     * Search products by name or description (without pagination)
+     * Search products by name or description
      * GET /api/products/search?term={searchTerm}
+     * GET /api/products/search?term={searchTerm}&page=0&size=10 (paginated, ranked by relevance in FULLTEXT mode)
      */
     @Operation(summary = "Search products", description = "Searches for products by name or description keyword")
     @ApiResponse(responseCode = "200", description = "Search results returned successfully")
     @GetMapping("/search")
     public ResponseEntity<List<ProductResponse>> searchProducts(
             @Parameter(description = "Search term to match against product name/description", required = true, example = "headphones")
-            @RequestParam String term) {
-        List<Product> products = productService.searchProducts(term);
+            @RequestParam String term,
+            @Parameter(description = "Page number (0-indexed); only used together with size", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100); omit to return all matches", example = "10")
+            @RequestParam(required = false) Integer size) {
+        List<Product> products = size != null
+                ? productService.searchProducts(term, page, size)
+                : productService.searchProducts(term);
         List<ProductResponse> response = ProductMapper.toProductResponseList(products);
         return ResponseEntity.ok(response);
     }
@@ -315,4 +423,29 @@ public class ProductController {
         productService.invalidateProductCache();
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks the request against a version-derived ETag and sets that ETag on the response.
+     * Versions only track the cached catalog: while it is cold, responses are built from the
+     * database, which can change without a version bump, so they get no ETag and never a 304.
+     * The version must be read before this check, so a catalog that warms up in between
+     * carries a newer version than the tag.
+     */
+    private boolean notModified(WebRequest webRequest, String etag) {
+        return productService.isCatalogCached() && webRequest.checkNotModified(etag);
+    }
+
+    /**
+     * Strong ETag for catalog-wide listings, derived from the catalog version of this instance
+     */
+    private static String catalogEtag(long version) {
+        return "\"catalog-" + INSTANCE_TAG + "-" + version + "\"";
+    }
+
+    /**
+     * Strong ETag for one product, derived from its version on this instance
+     */
+    private static String productEtag(int id, long version) {
+        return "\"product-" + id + "-" + INSTANCE_TAG + "-" + version + "\"";
+    }
+}
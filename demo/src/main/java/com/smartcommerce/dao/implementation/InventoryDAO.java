@@ -6,11 +6,17 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Repository;
 
 import com.smartcommerce.dao.interfaces.InventoryDaoInterface;
@@ -18,6 +24,10 @@ import com.smartcommerce.model.Inventory;
 
 @Repository
 public class InventoryDAO implements InventoryDaoInterface {
+    // Check and decrement in one statement, so concurrent orders can never take the same stock twice
+    private static final String DECREMENT_SQL = "UPDATE Inventory SET quantity_available = quantity_available - ? " +
+            "WHERE product_id = ? AND quantity_available >= ?";
+
     private final DataSource dataSource;
 
     @Autowired
@@ -28,13 +38,15 @@ public class InventoryDAO implements InventoryDaoInterface {
     @Override
     public boolean updateInventory(int productId, int quantity) {
         String sql = "UPDATE Inventory SET quantity_available = ? WHERE product_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, quantity);
             pstmt.setInt(2, productId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error updating inventory: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -44,8 +56,8 @@ public class InventoryDAO implements InventoryDaoInterface {
         String sql = "SELECT i.*, p.name as product_name FROM Inventory i " +
                 "LEFT JOIN Products p ON i.product_id = p.product_id " +
                 "WHERE i.product_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, productId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -53,6 +65,8 @@ public class InventoryDAO implements InventoryDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching inventory: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return null;
     }
@@ -64,14 +78,16 @@ public class InventoryDAO implements InventoryDaoInterface {
                 "LEFT JOIN Products p ON i.product_id = p.product_id " +
                 "ORDER BY i.quantity_available ASC";
 
-        try (Connection connection = dataSource.getConnection();
-             Statement stmt = connection.createStatement();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 inventories.add(extractInventory(rs));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching all inventory: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return inventories;
     }
@@ -84,8 +100,8 @@ public class InventoryDAO implements InventoryDaoInterface {
                 "WHERE i.quantity_available < ? " +
                 "ORDER BY i.quantity_available ASC";
 
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, threshold);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -93,10 +109,143 @@ public class InventoryDAO implements InventoryDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching low stock items: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return items;
     }
 
+    @Override
+    public boolean decrementStock(int productId, int quantity) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(DECREMENT_SQL)) {
+            pstmt.setInt(1, quantity);
+            pstmt.setInt(2, productId);
+            pstmt.setInt(3, quantity);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error decrementing stock: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean incrementStock(int productId, int quantity) {
+        String sql = "UPDATE Inventory SET quantity_available = quantity_available + ? WHERE product_id = ?";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, quantity);
+            pstmt.setInt(2, productId);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error incrementing stock: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean decrementStock(Map<Integer, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return true;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        // Outside a Spring transaction the batch runs in its own, so a short product undoes the whole batch
+        boolean ownTransaction = !DataSourceUtils.isConnectionTransactional(connection, dataSource);
+        boolean autoCommit = true;
+        boolean decremented = false;
+        try {
+            if (ownTransaction) {
+                autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+            }
+            decremented = executeDecrementBatch(connection, quantities);
+        } catch (SQLException e) {
+            System.err.println("Error decrementing stock: " + e.getMessage());
+        } finally {
+            if (ownTransaction) {
+                decremented = finishOwnTransaction(connection, decremented, autoCommit);
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return decremented;
+    }
+
+    private boolean executeDecrementBatch(Connection connection, Map<Integer, Integer> quantities) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(DECREMENT_SQL)) {
+            // Lock rows in product ID order, so concurrent orders for the same products cannot deadlock
+            for (Map.Entry<Integer, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+                pstmt.setInt(1, entry.getValue());
+                pstmt.setInt(2, entry.getKey());
+                pstmt.setInt(3, entry.getValue());
+                pstmt.addBatch();
+            }
+
+            // A row count of 0 means that product was short; the others may already be decremented
+            for (int count : pstmt.executeBatch()) {
+                if (count == 0 || count == Statement.EXECUTE_FAILED) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Commits or rolls back a batch run in its own transaction
+     * @return true only if the batch was committed
+     */
+    private boolean finishOwnTransaction(Connection connection, boolean commit, boolean autoCommit) {
+        try {
+            if (commit) {
+                connection.commit();
+                return true;
+            }
+            connection.rollback();
+        } catch (SQLException e) {
+            System.err.println("Error finishing stock batch: " + e.getMessage());
+        } finally {
+            try {
+                connection.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                System.err.println("Error restoring auto-commit: " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Map<Integer, Integer> getStockLevels(Collection<Integer> productIds) {
+        Map<Integer, Integer> levels = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return levels;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        String sql = "SELECT product_id, quantity_available FROM Inventory WHERE product_id IN (" + placeholders + ")";
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer productId : productIds) {
+                pstmt.setInt(index++, productId);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                levels.put(rs.getInt("product_id"), rs.getInt("quantity_available"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching stock levels: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return levels;
+    }
+
     private Inventory extractInventory(ResultSet rs) throws SQLException {
         Inventory inv = new Inventory();
         inv.setInventoryId(rs.getInt("inventory_id"));
@@ -5,15 +5,19 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Repository;
 
 import com.smartcommerce.dao.interfaces.OrderDaoInterface;
+import com.smartcommerce.dtos.request.OrderCursor;
+import com.smartcommerce.dtos.request.OrderFilterDTO;
 import com.smartcommerce.model.Order;
 
 @Repository
@@ -28,8 +32,8 @@ public class OrderDAO implements OrderDaoInterface {
     @Override
     public boolean addOrder(Order order) {
         String sql = "INSERT INTO Orders (user_id, status, total_amount) VALUES (?, ?, ?)";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, order.getUserId());
             pstmt.setString(2, order.getStatus());
             pstmt.setBigDecimal(3, order.getTotalAmount());
@@ -44,6 +48,8 @@ public class OrderDAO implements OrderDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error adding order: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -55,14 +61,16 @@ public class OrderDAO implements OrderDaoInterface {
                 "LEFT JOIN Users u ON o.user_id = u.user_id " +
                 "ORDER BY o.order_date DESC";
 
-        try (Connection connection = dataSource.getConnection();
-             Statement stmt = connection.createStatement();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 orders.add(extractOrder(rs));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching orders: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return orders;
     }
@@ -72,8 +80,8 @@ public class OrderDAO implements OrderDaoInterface {
         String sql = "SELECT o.*, u.name as user_name FROM Orders o " +
                 "LEFT JOIN Users u ON o.user_id = u.user_id " +
                 "WHERE o.order_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -81,6 +89,8 @@ public class OrderDAO implements OrderDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching order: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return null;
     }
@@ -92,8 +102,8 @@ public class OrderDAO implements OrderDaoInterface {
                 "LEFT JOIN Users u ON o.user_id = u.user_id " +
                 "WHERE o.user_id = ? ORDER BY o.order_date DESC";
 
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -101,6 +111,59 @@ public class OrderDAO implements OrderDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching user orders: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return orders;
+    }
+
+    @Override
+    public List<Order> findOrdersAfter(OrderFilterDTO filters, OrderCursor after, int limit) {
+        List<Order> orders = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT o.*, u.name as user_name FROM Orders o " +
+                "LEFT JOIN Users u ON o.user_id = u.user_id WHERE 1=1");
+        List<Object> params = new ArrayList<>();
+
+        if (filters != null) {
+            if (filters.status() != null) {
+                sql.append(" AND o.status = ?");
+                params.add(filters.status());
+            }
+            if (filters.userId() != null) {
+                sql.append(" AND o.user_id = ?");
+                params.add(filters.userId());
+            }
+            if (filters.fromDate() != null) {
+                sql.append(" AND o.order_date >= ?");
+                params.add(Timestamp.valueOf(filters.fromDate().atStartOfDay()));
+            }
+            if (filters.toDate() != null) {
+                // Inclusive end date: everything before the start of the following day
+                sql.append(" AND o.order_date < ?");
+                params.add(Timestamp.valueOf(filters.toDate().plusDays(1).atStartOfDay()));
+            }
+        }
+        if (after != null) {
+            sql.append(" AND (o.order_date, o.order_id) < (?, ?)");
+            params.add(after.orderDate());
+            params.add(after.orderId());
+        }
+        sql.append(" ORDER BY o.order_date DESC, o.order_id DESC LIMIT ?");
+        params.add(limit);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                orders.add(extractOrder(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching order page: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return orders;
     }
@@ -108,13 +171,15 @@ public class OrderDAO implements OrderDaoInterface {
     @Override
     public boolean updateOrderStatus(int orderId, String status) {
         String sql = "UPDATE Orders SET status = ? WHERE order_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, status);
             pstmt.setInt(2, orderId);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error updating order status: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -122,12 +187,14 @@ public class OrderDAO implements OrderDaoInterface {
     @Override
     public boolean deleteOrder(int id) {
         String sql = "DELETE FROM Orders WHERE order_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting order: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
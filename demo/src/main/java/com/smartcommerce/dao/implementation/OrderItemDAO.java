@@ -6,11 +6,17 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Repository;
 
 import com.smartcommerce.dao.interfaces.OrderItemDaoInterface;
@@ -18,6 +24,9 @@ import com.smartcommerce.model.OrderItem;
 
 @Repository
 public class OrderItemDAO implements OrderItemDaoInterface {
+    // Bind parameters per IN (...) query, well under the driver and server limits
+    private static final int IN_CHUNK_SIZE = 1000;
+
     private final DataSource dataSource;
 
     @Autowired
@@ -28,8 +37,8 @@ public class OrderItemDAO implements OrderItemDaoInterface {
     @Override
     public boolean addOrderItem(OrderItem item) {
         String sql = "INSERT INTO OrderItems (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, item.getOrderId());
             pstmt.setInt(2, item.getProductId());
             pstmt.setInt(3, item.getQuantity());
@@ -45,6 +54,8 @@ public class OrderItemDAO implements OrderItemDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error adding order item: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -52,8 +63,8 @@ public class OrderItemDAO implements OrderItemDaoInterface {
     @Override
     public boolean addOrderItem(int orderId, int productId, int quantity, java.math.BigDecimal unitPrice) {
         String sql = "INSERT INTO OrderItems (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, orderId);
             pstmt.setInt(2, productId);
             pstmt.setInt(3, quantity);
@@ -61,6 +72,48 @@ public class OrderItemDAO implements OrderItemDaoInterface {
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error adding order item: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean addOrderItems(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return true;
+        }
+
+        String sql = "INSERT INTO OrderItems (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (OrderItem item : items) {
+                pstmt.setInt(1, item.getOrderId());
+                pstmt.setInt(2, item.getProductId());
+                pstmt.setInt(3, item.getQuantity());
+                pstmt.setBigDecimal(4, item.getUnitPrice());
+                pstmt.addBatch();
+            }
+
+            int[] counts = pstmt.executeBatch();
+            for (int count : counts) {
+                if (count == 0 || count == Statement.EXECUTE_FAILED) {
+                    return false;
+                }
+            }
+
+            ResultSet rs = pstmt.getGeneratedKeys();
+            for (OrderItem item : items) {
+                if (rs.next()) {
+                    item.setOrderItemId(rs.getInt(1));
+                }
+                item.setSubtotal(item.getUnitPrice().multiply(new java.math.BigDecimal(item.getQuantity())));
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error adding order items: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -72,8 +125,8 @@ public class OrderItemDAO implements OrderItemDaoInterface {
                 "LEFT JOIN Products p ON oi.product_id = p.product_id " +
                 "WHERE oi.order_id = ?";
 
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, orderId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -81,19 +134,61 @@ public class OrderItemDAO implements OrderItemDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching order items: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return items;
     }
 
+    @Override
+    public Map<Integer, List<OrderItem>> getOrderItemsByOrderIds(Collection<Integer> orderIds) {
+        Map<Integer, List<OrderItem>> itemsByOrder = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return itemsByOrder;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                String sql = "SELECT oi.*, p.name as product_name FROM OrderItems oi " +
+                        "LEFT JOIN Products p ON oi.product_id = p.product_id " +
+                        "WHERE oi.order_id IN (" + placeholders + ") " +
+                        "ORDER BY oi.order_id, oi.order_item_id";
+
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        OrderItem item = extractOrderItem(rs);
+                        itemsByOrder.computeIfAbsent(item.getOrderId(), k -> new ArrayList<>()).add(item);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching order items: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return itemsByOrder;
+    }
+
     @Override
     public boolean deleteOrderItem(int id) {
         String sql = "DELETE FROM OrderItems WHERE order_item_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting order item: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -1,64 +1,438 @@
 package com.smartcommerce.dao.implementation;
 
+import com.smartcommerce.cache.CatalogSnapshot;
 import com.smartcommerce.dao.interfaces.ProductDaoInterface;
+import com.smartcommerce.dtos.request.ProductCursor;
+import com.smartcommerce.dtos.request.ProductFilterDTO;
 import com.smartcommerce.model.Product;
+import com.smartcommerce.search.ProductSearchIndex;
+import com.smartcommerce.search.ProductSearchMode;
+import com.smartcommerce.sorting.ProductSortField;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 /**
  * Data Access Object for Products with in-memory caching
+ * The catalog is cached as an immutable, versioned snapshot published through an
+ * atomic reference. Writes patch single entries copy-on-write instead of dropping
+ * the whole cache, so readers never block and never see a half-built map.
+ * Full loads are single-flight: concurrent misses share one catalog query, and
+ * the snapshot is refreshed in the background shortly before it expires.
  * All logging is silent - no UI exposure
  */
 @Slf4j
 @Repository
 public class ProductDAO implements ProductDaoInterface {
     private DataSource dataSource;
+    private final ProductSearchMode searchMode;
 
-    public ProductDAO(DataSource dataSource) {
+    public ProductDAO(DataSource dataSource,
+                      @Value("${product.search.mode:index}") String searchMode) {
         this.dataSource = dataSource;
+        this.searchMode = ProductSearchMode.fromString(searchMode);
     }
 
-    private static Map<Integer, Product> productCache = null;
-    private static long cacheTimestamp = 0;
+    private static final String PRODUCT_SELECT =
+            "SELECT p.*, c.category_name, COALESCE(i.quantity_available, 0) as quantity " +
+            "FROM Products p " +
+            "LEFT JOIN Categories c ON p.category_id = c.category_id " +
+            "LEFT JOIN Inventory i ON p.product_id = i.product_id ";
+
     private static final long CACHE_TTL_MS = 300000;
-    private static int cacheHits = 0;
-    private static int cacheMisses = 0;
+    // Age at which reads trigger a background reload while the current snapshot keeps serving
+    private static final long REFRESH_AHEAD_MS = CACHE_TTL_MS * 4 / 5;
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder cacheMisses = new LongAdder();
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    // Rebuilt with every full load and patched alongside the snapshot; unused in FULLTEXT mode
+    private volatile ProductSearchIndex searchIndex;
+    // Bumped on every publish and every write, so it increases even while the cache is cold.
+    // Only advanced once the change is visible to readers, so it is safe to derive ETags from.
+    private final AtomicLong catalogVersion = new AtomicLong();
+    // Version at which each product last changed; products not listed last changed at baseVersion
+    private final Map<Integer, Long> productVersions = new ConcurrentHashMap<>();
+    private volatile long baseVersion;
+    // Bumped by invalidateCache; a full load only publishes if the catalog was not invalidated while it ran
+    private final AtomicLong writeSequence = new AtomicLong();
+    // Orders changes to cached products. Writes take their stamp once the write has committed;
+    // stock re-reads take theirs before the read, so a later stamp never carries older data.
+    private final AtomicLong changeSequence = new AtomicLong();
+    // Guarded by publishLock: products changed after the current snapshot's query started.
+    // That query may have read them before the change, so they are replayed over the next load.
+    private final Map<Integer, ProductChanges> changes = new HashMap<>();
+    // Guarded by publishLock: change stamp taken before the current snapshot's query; older changes are part of it
+    private long snapshotStamp;
+    // Serializes product updates with their stamps, so updates to one product are patched in commit order
+    private final Object productWriteLock = new Object();
+    // Serializes snapshot patches and publication; never taken by readers
+    private final Object publishLock = new Object();
+    // The full catalog load currently running, shared by every caller that needs it
+    private final AtomicReference<CompletableFuture<CatalogSnapshot>> inFlightLoad = new AtomicReference<>();
+
+    /**
+     * What is known about one product since the current snapshot's query started.
+     * Details (name, description, price) are the values an update just wrote, stock is
+     * re-read from Inventory, and a whole product is kept for products added since.
+     * Each part keeps the stamp of the change it came from, so an older change never
+     * overwrites a newer one. Guarded by publishLock.
+     */
+    private static final class ProductChanges {
+        private long productStamp;
+        private Product product;
+        private long detailsStamp;
+        private Product details;
+        private long stockStamp;
+        private int stock;
+        private long removedStamp;
+
+        boolean product(long stamp, Product added) {
+            if (stamp <= productStamp) {
+                return false;
+            }
+            productStamp = stamp;
+            product = added;
+            details(stamp, added);
+            stock(stamp, added.getQuantityAvailable());
+            return true;
+        }
+
+        boolean details(long stamp, Product written) {
+            if (stamp <= detailsStamp) {
+                return false;
+            }
+            detailsStamp = stamp;
+            details = written;
+            return true;
+        }
+
+        boolean stock(long stamp, int quantity) {
+            if (stamp <= stockStamp) {
+                return false;
+            }
+            stockStamp = stamp;
+            stock = quantity;
+            return true;
+        }
+
+        /**
+         * Deleted, or evicted because its current state could not be read
+         */
+        boolean remove(long stamp) {
+            if (removedStamp != 0) {
+                return false;
+            }
+            removedStamp = stamp;
+            return true;
+        }
+
+        /**
+         * Applies the parts that changed after the given stamp
+         *
+         * @param base the product as cached or loaded, or null if it is not there
+         * @return the changed product, base itself if nothing newer applies, or null if the
+         *         product was removed or cannot be built from what is known
+         */
+        Product applyTo(Product base, long after) {
+            if (removedStamp > after) {
+                return null;
+            }
+            Product changed = base != null ? base : productStamp > after ? product : null;
+            if (changed == null) {
+                return null;
+            }
+            if (detailsStamp > after) {
+                changed = withDetails(changed, details);
+            }
+            if (stockStamp > after) {
+                changed = withStock(changed, stock);
+            }
+            return changed;
+        }
+
+        /**
+         * Drops the parts a load started at the given stamp already contains
+         *
+         * @return true if nothing is left
+         */
+        boolean forget(long upTo) {
+            if (productStamp <= upTo) {
+                product = null;
+                productStamp = 0;
+            }
+            if (detailsStamp <= upTo) {
+                details = null;
+                detailsStamp = 0;
+            }
+            if (stockStamp <= upTo) {
+                stockStamp = 0;
+            }
+            if (removedStamp <= upTo) {
+                removedStamp = 0;
+            }
+            return productStamp == 0 && detailsStamp == 0 && stockStamp == 0 && removedStamp == 0;
+        }
+    }
 
-    private boolean isCacheValid() {
+    private static Product withDetails(Product product, Product details) {
+        Product changed = new Product(product);
+        changed.setProductName(details.getProductName());
+        changed.setDescription(details.getDescription());
+        changed.setPrice(details.getPrice());
+        return changed;
+    }
+
+    private static Product withStock(Product product, int quantity) {
+        Product changed = new Product(product);
+        // setQuantityAvailable adds to the copied quantity
+        changed.setQuantityAvailable(quantity - product.getQuantityAvailable());
+        return changed;
+    }
 
-        if (productCache == null) {
-            return false;
+    private CatalogSnapshot currentSnapshot() {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            return null;
         }
 
         long currentTime = System.currentTimeMillis();
-        long timeDifference = currentTime - cacheTimestamp;
+        long timeDifference = currentTime - current.getLoadedAt();
 
-        return timeDifference < CACHE_TTL_MS;
+        if (timeDifference >= CACHE_TTL_MS) {
+            return null;
+        }
+        if (timeDifference >= REFRESH_AHEAD_MS) {
+            // Rebuild before expiry so readers never hit a cold cache
+            sharedLoad(true);
+        }
+        return current;
     }
 
+    /**
+     * Returns the full catalog load in flight, starting one if none is running.
+     * Concurrent callers all receive the same future, so an expired cache costs
+     * one catalog query rather than one per request.
+     *
+     * @param background run a newly started load on a virtual thread instead of the caller's
+     */
+    private CompletableFuture<CatalogSnapshot> sharedLoad(boolean background) {
+        while (true) {
+            CompletableFuture<CatalogSnapshot> running = inFlightLoad.get();
+            if (running != null) {
+                return running;
+            }
 
-    public void invalidateCache() {
+            CompletableFuture<CatalogSnapshot> load = new CompletableFuture<>();
+            if (inFlightLoad.compareAndSet(null, load)) {
+                Runnable task = () -> {
+                    try {
+                        load.complete(loadSnapshot());
+                    } catch (RuntimeException e) {
+                        load.completeExceptionally(e);
+                    } finally {
+                        inFlightLoad.compareAndSet(load, null);
+                    }
+                };
+                if (background) {
+                    Thread.ofVirtual().name("catalog-refresh").start(task);
+                } else {
+                    task.run();
+                }
+                return load;
+            }
+        }
+    }
 
-        // Step 1: Clear the cached products (romves it from memory)
-        if (productCache != null) {
-            productCache = null;
+    /**
+     * Loads the catalog, or waits for the load another caller already started
+     */
+    private CatalogSnapshot awaitLoad() {
+        try {
+            return sharedLoad(false).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+
+    public void invalidateCache() {
+        synchronized (publishLock) {
+            // Drop the snapshot and make any in-flight load discard its result
+            writeSequence.incrementAndGet();
+            snapshot.set(null);
+            searchIndex = null;
+            changes.clear();
+            publishVersion(catalogVersion.get() + 1, null);
         }
+    }
 
-        // Step 2: Reset the cache timestamp
-        cacheTimestamp = 0;
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
     }
 
+    @Override
+    public long getProductVersion(int productId) {
+        return productVersions.getOrDefault(productId, baseVersion);
+    }
+
+    @Override
+    public CatalogSnapshot getCatalogSnapshot() {
+        return currentSnapshot();
+    }
 
     public static String getCacheStats() {
-        int total = cacheHits + cacheMisses;
-        double hitRate = total > 0 ? (cacheHits * 100.0 / total) : 0;
+        long hits = cacheHits.sum();
+        long misses = cacheMisses.sum();
+        long total = hits + misses;
+        double hitRate = total > 0 ? (hits * 100.0 / total) : 0;
         return String.format("[CACHE] Hits: %d, Misses: %d, Hit Rate: %.1f%%",
-                cacheHits, cacheMisses, hitRate);
+                hits, misses, hitRate);
+    }
+
+    /**
+     * Re-reads the stock of products and patches it into the current snapshot.
+     * Only stock is read: it is the one part of a cached product that changes outside
+     * this DAO, by a relative amount the caller cannot turn into a value. The read runs
+     * before publishLock is taken, so refreshes do not queue behind each other's queries;
+     * the stamp taken before the read keeps an older read from landing last.
+     * If the stock cannot be read, only these products are evicted.
+     */
+    private void refreshCachedStock(Collection<Integer> productIds) {
+        long stamp = changeSequence.incrementAndGet();
+        Map<Integer, Integer> stock = loadStock(productIds);
+
+        synchronized (publishLock) {
+            for (Integer productId : new LinkedHashSet<>(productIds)) {
+                Integer quantity = stock != null ? stock.get(productId) : null;
+                if (quantity != null) {
+                    applyChange(productId, stamp, changed -> changed.stock(stamp, quantity));
+                } else {
+                    // Deleted, or the read failed and the cached stock can no longer be trusted
+                    applyChange(productId, stamp, changed -> changed.remove(stamp));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void refreshProduct(int productId) {
+        refreshCachedStock(List.of(productId));
+    }
+
+    @Override
+    public void refreshProducts(Collection<Integer> productIds) {
+        if (!productIds.isEmpty()) {
+            refreshCachedStock(productIds);
+        }
+    }
+
+    /**
+     * Reads the stock of the given products with one IN query, 0 for products without an inventory row
+     *
+     * @return stock by product ID, without products that do not exist, or null if the query failed
+     */
+    private Map<Integer, Integer> loadStock(Collection<Integer> ids) {
+        List<Integer> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+        String placeholders = String.join(", ", Collections.nCopies(idList.size(), "?"));
+        String sql = "SELECT p.product_id, COALESCE(i.quantity_available, 0) AS quantity " +
+                "FROM Products p " +
+                "LEFT JOIN Inventory i ON p.product_id = i.product_id " +
+                "WHERE p.product_id IN (" + placeholders + ")";
+
+        Map<Integer, Integer> stock = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < idList.size(); i++) {
+                pstmt.setInt(i + 1, idList.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                stock.put(rs.getInt("product_id"), rs.getInt("quantity"));
+            }
+        } catch (SQLException e) {
+            // Silent
+            return null;
+        }
+
+        return stock;
+    }
+
+    /**
+     * Records a change to one product and patches it into the snapshot, if one is
+     * published, then advances the product's version. The change is also kept for
+     * the next full load, whose query may have read the product before the change.
+     * Must be called under publishLock.
+     *
+     * @param change records the change, returning false if a newer one is already recorded
+     */
+    private void applyChange(int productId, long stamp, Predicate<ProductChanges> change) {
+        long version = catalogVersion.get() + 1;
+        // Anything stamped before the snapshot's query started is already part of it
+        if (stamp > snapshotStamp) {
+            ProductChanges productChanges = changes.computeIfAbsent(productId, id -> new ProductChanges());
+            CatalogSnapshot current = snapshot.get();
+            if (change.test(productChanges) && current != null) {
+                Product cached = current.getProduct(productId);
+                Product changed = productChanges.applyTo(cached, snapshotStamp);
+                if (changed != cached) {
+                    patchSnapshot(current, productId, changed, version);
+                }
+            }
+        }
+        publishVersion(version, productId);
+    }
+
+    /**
+     * Must be called under publishLock.
+     */
+    private void patchSnapshot(CatalogSnapshot current, int productId, Product fresh, long version) {
+        ProductSearchIndex index = searchIndex;
+        if (fresh != null) {
+            snapshot.set(current.withProduct(fresh, version));
+            if (index != null) {
+                index.update(fresh);
+            }
+        } else {
+            snapshot.set(current.withoutProduct(productId, version));
+            if (index != null) {
+                index.remove(productId);
+            }
+        }
+    }
+
+    /**
+     * Advances the catalog version after a change has been made visible.
+     * Must be called under publishLock.
+     *
+     * @param productId the product that changed, or null if the whole catalog may have changed
+     */
+    private void publishVersion(long version, Integer productId) {
+        if (productId != null) {
+            productVersions.put(productId, version);
+        } else {
+            baseVersion = version;
+            productVersions.clear();
+        }
+        catalogVersion.set(version);
     }
 
     @Override
@@ -86,13 +460,16 @@ public class ProductDAO implements ProductDaoInterface {
 
     @Override
     public boolean addProduct(Product product) {
-        String sql = "INSERT INTO Products (name, description, price, category_id) VALUES (?, ?, ?, ?)";
+        String sql = "INSERT INTO Products (name, description, price, category_id, created_at) VALUES (?, ?, ?, ?, ?)";
+        // Set here rather than defaulted by the database, so the cached copy carries the stored value
+        Timestamp createdAt = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
         try (Connection connection = dataSource.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, product.getProductName());
             pstmt.setString(2, product.getDescription());
             pstmt.setBigDecimal(3, product.getPrice());
             pstmt.setInt(4, product.getCategoryId());
+            pstmt.setTimestamp(5, createdAt);
 
             int rows = pstmt.executeUpdate();
             if (rows > 0) {
@@ -100,8 +477,8 @@ public class ProductDAO implements ProductDaoInterface {
                 if (rs.next()) {
                     product.setProductId(rs.getInt(1));
                     createInventoryEntry(product.getProductId());
+                    cacheAddedProduct(product, createdAt);
                 }
-                invalidateCache();
                 return true;
             }
         } catch (SQLException e) {
@@ -110,6 +487,44 @@ public class ProductDAO implements ProductDaoInterface {
         return false;
     }
 
+    /**
+     * Patches a new product into the snapshot from the values just inserted. Its category
+     * name is taken from a cached product in the same category; only if there is none is
+     * the product read back. A product that cannot be read back stays uncached.
+     */
+    private void cacheAddedProduct(Product product, Timestamp createdAt) {
+        Product added = new Product(product.getProductName(), product.getDescription(),
+                product.getPrice(), product.getCategoryId());
+        added.setProductId(product.getProductId());
+        added.setCreatedAt(createdAt);
+        String categoryName = cachedCategoryName(product.getCategoryId());
+        if (categoryName != null) {
+            added.setCategoryName(categoryName);
+        } else {
+            added = loadProduct(product.getProductId());
+        }
+
+        long stamp = changeSequence.incrementAndGet();
+        Product cached = added;
+        synchronized (publishLock) {
+            applyChange(product.getProductId(), stamp, cached != null
+                    ? changed -> changed.product(stamp, cached)
+                    : changed -> changed.remove(stamp));
+        }
+    }
+
+    private String cachedCategoryName(int categoryId) {
+        CatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            for (Product product : current.getProducts()) {
+                if (product.getCategoryId() == categoryId && product.getCategoryName() != null) {
+                    return product.getCategoryName();
+                }
+            }
+        }
+        return null;
+    }
+
     private void createInventoryEntry(int productId) {
         String sql = "INSERT INTO Inventory (product_id, quantity_available) VALUES (?, 0)";
         try (Connection connection = dataSource.getConnection();
@@ -123,19 +538,32 @@ public class ProductDAO implements ProductDaoInterface {
 
     @Override
     public List<Product> getAllProducts() {
-        if (isCacheValid()) {
-            cacheHits++;
-            return new ArrayList<>(productCache.values());
+        CatalogSnapshot current = currentSnapshot();
+        if (current != null) {
+            cacheHits.increment();
+            return current.getProducts();
         }
 
-        cacheMisses++;
+        cacheMisses.increment();
+        return awaitLoad().getProducts();
+    }
+
+    /**
+     * Runs the full catalog query and publishes the result as a new snapshot,
+     * unless the catalog was invalidated while the query was running. Products
+     * changed during the query, including while an older snapshot keeps serving, are
+     * replayed over it from their recorded changes, so ongoing writes never keep the
+     * cache from warming or get lost when a refresh-ahead load publishes.
+     * Only called through sharedLoad, so at most one load runs at a time.
+     *
+     * @throws DataRetrievalFailureException if the catalog could not be read in full
+     */
+    private CatalogSnapshot loadSnapshot() {
+        long sequenceAtStart = writeSequence.get();
+        long stampAtStart = changeSequence.get();
 
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT p.*, c.category_name, COALESCE(i.quantity_available, 0) as quantity " +
-                "FROM Products p " +
-                "LEFT JOIN Categories c ON p.category_id = c.category_id " +
-                "LEFT JOIN Inventory i ON p.product_id = i.product_id " +
-                "ORDER BY p.product_id DESC";
+        String sql = PRODUCT_SELECT + "ORDER BY p.product_id DESC";
 
         try (Connection connection = dataSource.getConnection();
              Statement stmt = connection.createStatement();
@@ -143,31 +571,124 @@ public class ProductDAO implements ProductDaoInterface {
             while (rs.next()) {
                 products.add(extractProduct(rs));
             }
-
-            productCache = products.stream()
-                    .collect(Collectors.toMap(Product::getProductId, p -> p));
-            cacheTimestamp = System.currentTimeMillis();
-
         } catch (SQLException e) {
-            // Silent
+            // Never serve part of the catalog as if it were all of it; a warm snapshot keeps serving until it expires
+            log.warn("Catalog load failed after {} products", products.size(), e);
+            throw new DataRetrievalFailureException("Could not load the product catalog", e);
         }
 
-        return products;
+        // Build the search index outside the lock; it is only published with the snapshot
+        ProductSearchIndex index = searchMode == ProductSearchMode.INDEX
+                ? ProductSearchIndex.build(products)
+                : null;
+
+        synchronized (publishLock) {
+            if (writeSequence.get() != sequenceAtStart) {
+                // The catalog was invalidated while loading; let the next read reload
+                return CatalogSnapshot.of(products, catalogVersion.get(), System.currentTimeMillis());
+            }
+            long version = catalogVersion.get() + 1;
+            snapshot.set(CatalogSnapshot.of(products, version, System.currentTimeMillis()));
+            searchIndex = index;
+            snapshotStamp = stampAtStart;
+
+            // Products changed after the query started may have been read before their change
+            for (Map.Entry<Integer, ProductChanges> changed : changes.entrySet()) {
+                Product loaded = snapshot.get().getProduct(changed.getKey());
+                Product replayed = changed.getValue().applyTo(loaded, stampAtStart);
+                if (replayed != loaded) {
+                    patchSnapshot(snapshot.get(), changed.getKey(), replayed, version);
+                }
+            }
+            changes.values().removeIf(changed -> changed.forget(stampAtStart));
+
+            publishVersion(version, null);
+            return snapshot.get();
+        }
     }
 
     @Override
     public Product getProductById(int id) {
-        if (isCacheValid() && productCache.containsKey(id)) {
-            cacheHits++;
-            return productCache.get(id);
+        CatalogSnapshot current = currentSnapshot();
+        if (current != null && current.containsProduct(id)) {
+            cacheHits.increment();
+            // Hand out a copy: callers mutate the result before passing it to updateProduct
+            return new Product(current.getProduct(id));
         }
 
-        cacheMisses++;
-        String sql = "SELECT p.*, c.category_name, COALESCE(i.quantity_available, 0) as quantity " +
-                "FROM Products p " +
-                "LEFT JOIN Categories c ON p.category_id = c.category_id " +
-                "LEFT JOIN Inventory i ON p.product_id = i.product_id " +
-                "WHERE p.product_id = ?";
+        cacheMisses.increment();
+        return loadProduct(id);
+    }
+
+    @Override
+    public List<Product> getProductsByIds(Collection<Integer> ids) {
+        Set<Integer> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        Map<Integer, Product> found = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        CatalogSnapshot current = currentSnapshot();
+
+        for (Integer id : requested) {
+            if (current != null && current.containsProduct(id)) {
+                cacheHits.increment();
+                found.put(id, new Product(current.getProduct(id)));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            cacheMisses.add(missing.size());
+            List<Product> loaded = loadProducts(missing);
+            for (Product product : loaded != null ? loaded : List.<Product>of()) {
+                found.put(product.getProductId(), product);
+            }
+        }
+
+        List<Product> products = new ArrayList<>(found.size());
+        for (Integer id : requested) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Reads the given products from the database with one IN query, skipping the cache
+     *
+     * @return the products found, or null if the query failed
+     */
+    private List<Product> loadProducts(Collection<Integer> ids) {
+        List<Product> products = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return products;
+        }
+
+        List<Integer> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+        String placeholders = String.join(", ", Collections.nCopies(idList.size(), "?"));
+        String sql = PRODUCT_SELECT + "WHERE p.product_id IN (" + placeholders + ")";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < idList.size(); i++) {
+                pstmt.setInt(i + 1, idList.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                products.add(extractProduct(rs));
+            }
+        } catch (SQLException e) {
+            // Silent
+            return null;
+        }
+
+        return products;
+    }
+
+    private Product loadProduct(int id) {
+        String sql = PRODUCT_SELECT + "WHERE p.product_id = ?";
 
         try (Connection connection = dataSource.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
@@ -195,11 +716,18 @@ public class ProductDAO implements ProductDaoInterface {
             pstmt.setBigDecimal(3, product.getPrice());
             pstmt.setInt(4, product.getProductId());
 
-            boolean updated = pstmt.executeUpdate() > 0;
-            if (updated) {
-                invalidateCache();
+            synchronized (productWriteLock) {
+                boolean updated = pstmt.executeUpdate() > 0;
+                if (updated) {
+                    // Patch the cached copy from the values just written; only these columns changed
+                    Product details = new Product(product);
+                    long stamp = changeSequence.incrementAndGet();
+                    synchronized (publishLock) {
+                        applyChange(product.getProductId(), stamp, changed -> changed.details(stamp, details));
+                    }
+                }
+                return updated;
             }
-            return updated;
 
         } catch (SQLException e) {
             // Silent
@@ -216,7 +744,10 @@ public class ProductDAO implements ProductDaoInterface {
             pstmt.setInt(1, id);
             boolean deleted = pstmt.executeUpdate() > 0;
             if (deleted) {
-                invalidateCache();
+                long stamp = changeSequence.incrementAndGet();
+                synchronized (publishLock) {
+                    applyChange(id, stamp, changed -> changed.remove(stamp));
+                }
             }
             return deleted;
         } catch (SQLException e) {
@@ -225,30 +756,160 @@ public class ProductDAO implements ProductDaoInterface {
         return false;
     }
 
+    @Override
     public List<Product> searchProducts(String term) {
+        if (searchMode == ProductSearchMode.FULLTEXT) {
+            return searchFullText(term, 0, Integer.MAX_VALUE);
+        }
+
+        CatalogSnapshot current = currentSnapshot();
+        ProductSearchIndex index = searchIndex;
+        if (current != null && index != null) {
+            cacheHits.increment();
+            return resolveProducts(current, index.search(term));
+        }
+
+        cacheMisses.increment();
+        // Same token-prefix rule as the index, most recent first like the cached catalog
+        ProductFilterDTO filters = new ProductFilterDTO(null, null, null, term, null);
+        return findProducts(filters, ProductSortField.PRODUCT_ID, true, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Product> searchProducts(String term, long offset, int limit) {
+        if (searchMode == ProductSearchMode.FULLTEXT) {
+            return searchFullText(term, offset, limit);
+        }
+
+        List<Product> matches = searchProducts(term);
+        if (offset >= matches.size()) {
+            return List.of();
+        }
+        return matches.subList((int) offset, (int) Math.min(matches.size(), offset + limit));
+    }
+
+    /**
+     * Searches the FULLTEXT index on Products(name, description), most relevant first.
+     * Terms containing boolean operators (+ - * " etc.) run in BOOLEAN MODE,
+     * anything else in NATURAL LANGUAGE MODE.
+     */
+    private List<Product> searchFullText(String term, long offset, int limit) {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT p.*, c.category_name, COALESCE(i.quantity_available, 0) as quantity " +
+        String mode = ProductSearchMode.isBooleanQuery(term) ? "BOOLEAN MODE" : "NATURAL LANGUAGE MODE";
+        String match = "MATCH(p.name, p.description) AGAINST (? IN " + mode + ")";
+        String sql = "SELECT p.*, c.category_name, COALESCE(i.quantity_available, 0) as quantity, " +
+                match + " AS relevance " +
                 "FROM Products p " +
                 "LEFT JOIN Categories c ON p.category_id = c.category_id " +
                 "LEFT JOIN Inventory i ON p.product_id = i.product_id " +
-                "WHERE p.name LIKE ? OR p.description LIKE ?";
+                "WHERE " + match + " " +
+                "ORDER BY relevance DESC, p.product_id DESC LIMIT ? OFFSET ?";
 
         try (Connection connection = dataSource.getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            String pattern = "%" + term + "%";
-            pstmt.setString(1, pattern);
-            pstmt.setString(2, pattern);
+            pstmt.setString(1, term);
+            pstmt.setString(2, term);
+            pstmt.setInt(3, limit);
+            pstmt.setLong(4, offset);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                products.add(extractProduct(rs));
+            }
+        } catch (SQLException e) {
+            // Silent
+        }
+
+        return products;
+    }
+
+    @Override
+    public Set<Integer> searchProductIds(String term) {
+        ProductSearchIndex index = searchIndex;
+        if (currentSnapshot() == null || index == null) {
+            return null;
+        }
+        return index.search(term);
+    }
+
+    /**
+     * Looks up matched IDs in the snapshot, most recent first like the full catalog
+     */
+    private List<Product> resolveProducts(CatalogSnapshot current, Set<Integer> ids) {
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Product product = current.getProduct(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        products.sort(Comparator.comparingInt(Product::getProductId).reversed());
+        return products;
+    }
+
+    @Override
+    public List<Product> findProducts(ProductFilterDTO filters, ProductSortField sortField,
+                                      boolean descending, long offset, int limit) {
+        List<Product> products = new ArrayList<>();
+        ProductQueryBuilder query = new ProductQueryBuilder(filters, searchMode);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query.selectPage(sortField, descending))) {
+            int index = query.bind(pstmt);
+            pstmt.setInt(index++, limit);
+            pstmt.setLong(index, offset);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
                 products.add(extractProduct(rs));
             }
         } catch (SQLException e) {
-            System.out.println(e.getMessage());
+            // Silent
         }
 
         return products;
     }
 
+    @Override
+    public List<Product> findProductsAfter(ProductFilterDTO filters, ProductSortField sortField,
+                                           boolean descending, ProductCursor after, int limit) {
+        List<Product> products = new ArrayList<>();
+        ProductQueryBuilder query = new ProductQueryBuilder(filters, searchMode);
+        if (after != null) {
+            query.seekAfter(after);
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query.selectSeekPage(sortField, descending))) {
+            int index = query.bind(pstmt);
+            pstmt.setInt(index, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                products.add(extractProduct(rs));
+            }
+        } catch (SQLException e) {
+            // Silent
+        }
+
+        return products;
+    }
+
+    @Override
+    public long countProducts(ProductFilterDTO filters) {
+        ProductQueryBuilder query = new ProductQueryBuilder(filters, searchMode);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query.selectCount())) {
+            query.bind(pstmt);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            // Silent
+        }
+
+        return 0;
+    }
+
     private Product extractProduct(ResultSet rs) throws SQLException {
         Product p = new Product();
         p.setProductId(rs.getInt("product_id"));
@@ -0,0 +1,158 @@
+package com.smartcommerce.dao.implementation;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.smartcommerce.dtos.request.ProductCursor;
+import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.search.ProductSearchIndex;
+import com.smartcommerce.search.ProductSearchMode;
+import com.smartcommerce.sorting.ProductSortField;
+
+/**
+ * Builds parameterized product catalog queries from filter, sort and page criteria.
+ * Only whitelisted columns from ProductSortField are ever concatenated into the SQL;
+ * all filter values are bound as parameters.
+ */
+class ProductQueryBuilder {
+
+    private static final String FROM =
+            "FROM Products p " +
+            "LEFT JOIN Categories c ON p.category_id = c.category_id " +
+            "LEFT JOIN Inventory i ON p.product_id = i.product_id ";
+
+    private final StringBuilder where = new StringBuilder();
+    private final List<Object> params = new ArrayList<>();
+
+    ProductQueryBuilder(ProductFilterDTO filters, ProductSearchMode searchMode) {
+        if (filters == null) {
+            return;
+        }
+
+        if (filters.category() != null && !filters.category().trim().isEmpty()) {
+            condition("c.category_name = ?", filters.category().trim());
+        }
+        if (filters.minPrice() != null) {
+            condition("p.price >= ?", filters.minPrice());
+        }
+        if (filters.maxPrice() != null) {
+            condition("p.price <= ?", filters.maxPrice());
+        }
+        if (filters.searchTerm() != null && !filters.searchTerm().trim().isEmpty()) {
+            String fulltextQuery = ProductSearchMode.toRequiredPrefixQuery(filters.searchTerm());
+            if (searchMode == ProductSearchMode.FULLTEXT && !fulltextQuery.isEmpty()) {
+                condition("MATCH(p.name, p.description) AGAINST (? IN BOOLEAN MODE)", fulltextQuery);
+            } else {
+                searchTokenPrefixes(filters.searchTerm());
+            }
+        }
+        if (filters.inStock() != null) {
+            condition(filters.inStock()
+                    ? "COALESCE(i.quantity_available, 0) > 0"
+                    : "COALESCE(i.quantity_available, 0) <= 0");
+        }
+    }
+
+    /**
+     * SELECT for one page of products.
+     * Ties are broken by product ID (most recent first), matching the stable
+     * in-memory sort over the cached catalog.
+     */
+    String selectPage(ProductSortField sortField, boolean descending) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.*, c.category_name, COALESCE(i.quantity_available, 0) as quantity ")
+                .append(FROM)
+                .append(where)
+                .append("ORDER BY ").append(sortField.getColumn()).append(descending ? " DESC" : " ASC");
+        if (sortField != ProductSortField.PRODUCT_ID) {
+            sql.append(", p.product_id DESC");
+        }
+        return sql.append(" LIMIT ? OFFSET ?").toString();
+    }
+
+    /**
+     * Restricts the query to rows strictly after the cursor position, using a row
+     * comparison on (sort column, product_id) so an index on those columns can seek.
+     * NULL sorts before every value, as MySQL orders it: first ascending, last descending.
+     * A row comparison is never true for a NULL column, so those rows are matched separately.
+     */
+    void seekAfter(ProductCursor cursor) {
+        String operator = cursor.descending() ? " < " : " > ";
+        String column = cursor.sortField().getColumn();
+        Object value = cursor.sortValue();
+        if (cursor.sortField() == ProductSortField.PRODUCT_ID) {
+            condition("p.product_id" + operator + "?", cursor.productId());
+        } else if (value == null) {
+            // Past a NULL: the rest of the NULLs, then (ascending only) every value
+            condition(cursor.descending()
+                    ? "(" + column + " IS NULL AND p.product_id < ?)"
+                    : "(" + column + " IS NOT NULL OR p.product_id > ?)", cursor.productId());
+        } else if (cursor.descending()) {
+            condition("((" + column + ", p.product_id) < (?, ?) OR " + column + " IS NULL)",
+                    value, cursor.productId());
+        } else {
+            condition("(" + column + ", p.product_id) > (?, ?)", value, cursor.productId());
+        }
+    }
+
+    /**
+     * SELECT for one keyset page. Ties are broken by product ID in the same
+     * direction as the sort so the row comparison in seekAfter stays valid.
+     */
+    String selectSeekPage(ProductSortField sortField, boolean descending) {
+        String direction = descending ? " DESC" : " ASC";
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.*, c.category_name, COALESCE(i.quantity_available, 0) as quantity ")
+                .append(FROM)
+                .append(where)
+                .append("ORDER BY ");
+        if (sortField != ProductSortField.PRODUCT_ID) {
+            sql.append(sortField.getColumn()).append(direction).append(", ");
+        }
+        return sql.append("p.product_id").append(direction).append(" LIMIT ?").toString();
+    }
+
+    /**
+     * SELECT COUNT(*) matching the same filters
+     */
+    String selectCount() {
+        return "SELECT COUNT(*) " + FROM + where;
+    }
+
+    /**
+     * Binds the filter parameters and returns the next free parameter index
+     */
+    int bind(PreparedStatement pstmt) throws SQLException {
+        int index = 1;
+        for (Object param : params) {
+            pstmt.setObject(index++, param);
+        }
+        return index;
+    }
+
+    private void condition(String sql, Object... values) {
+        where.append(where.length() == 0 ? "WHERE " : "AND ").append(sql).append(' ');
+        params.addAll(List.of(values));
+    }
+
+    /**
+     * Same rule as ProductSearchIndex: every query term must be a prefix of a word in the
+     * name, description or category name. Terms are letters and digits only, so they are
+     * safe to embed in the pattern.
+     */
+    private void searchTokenPrefixes(String searchTerm) {
+        List<String> terms = ProductSearchIndex.tokenize(searchTerm).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            // The index matches nothing for a query without searchable terms
+            condition("1 = 0");
+            return;
+        }
+        for (String term : terms) {
+            String pattern = "(^|[^[:alnum:]])" + term;
+            condition("(p.name REGEXP ? OR p.description REGEXP ? OR c.category_name REGEXP ?)",
+                    pattern, pattern, pattern);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.smartcommerce.dao.implementation;
 
 import com.smartcommerce.dao.interfaces.UserDaoInterface;
 import com.smartcommerce.model.User;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
@@ -20,8 +21,8 @@ public class UserDAO implements UserDaoInterface {
     @Override
     public boolean addUser(User user) {
         String sql = "INSERT INTO Users (name, email, password, phone, address, role) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, user.getName());
             pstmt.setString(2, user.getEmail());
             pstmt.setString(3, user.getPassword());
@@ -39,6 +40,8 @@ public class UserDAO implements UserDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error adding user: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -48,14 +51,16 @@ public class UserDAO implements UserDaoInterface {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM Users ORDER BY user_id";
 
-        try (Connection connection = dataSource.getConnection();
-             Statement stmt = connection.createStatement();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 users.add(extractUser(rs));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching users: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return users;
     }
@@ -63,8 +68,8 @@ public class UserDAO implements UserDaoInterface {
     @Override
     public User getUserById(int id) {
         String sql = "SELECT * FROM Users WHERE user_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -72,6 +77,8 @@ public class UserDAO implements UserDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching user: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return null;
     }
@@ -84,8 +91,8 @@ public class UserDAO implements UserDaoInterface {
     @Override
     public User getUserByEmail(String email) {
         String sql = "SELECT * FROM Users WHERE email = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, email);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -93,6 +100,8 @@ public class UserDAO implements UserDaoInterface {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching user by email: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return null;
     }
@@ -100,8 +109,8 @@ public class UserDAO implements UserDaoInterface {
     @Override
     public boolean updateUser(User user) {
         String sql = "UPDATE Users SET name = ?, email = ?, phone = ?, address = ?, role = ? WHERE user_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, user.getName());
             pstmt.setString(2, user.getEmail());
             pstmt.setString(3, user.getPhone());
@@ -111,6 +120,8 @@ public class UserDAO implements UserDaoInterface {
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error updating user: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
@@ -118,12 +129,14 @@ public class UserDAO implements UserDaoInterface {
     @Override
     public boolean deleteUser(int id) {
         String sql = "DELETE FROM Users WHERE user_id = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, id);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting user: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
         return false;
     }
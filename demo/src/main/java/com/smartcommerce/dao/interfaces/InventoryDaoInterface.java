@@ -1,7 +1,9 @@
 package com.smartcommerce.dao.interfaces;
 
 import com.smartcommerce.model.Inventory;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for Inventory Data Access Object operations
@@ -35,4 +37,38 @@ public interface InventoryDaoInterface {
      * @return List of inventory items with quantity below threshold, ordered by quantity (ascending)
      */
     List<Inventory> getLowStockItems(int threshold);
+
+    /**
+     * Atomically reduces the stock of a product if enough is available
+     * The check and the update are one conditional UPDATE, so concurrent callers can never oversell
+     * @param productId Product ID to update
+     * @param quantity Quantity to remove
+     * @return true if the stock was reduced, false if the product is unknown or has too little stock
+     */
+    boolean decrementStock(int productId, int quantity);
+
+    /**
+     * Atomically adds stock to a product
+     * @param productId Product ID to update
+     * @param quantity Quantity to add
+     * @return true if the stock was increased, false if the product is unknown
+     */
+    boolean incrementStock(int productId, int quantity);
+
+    /**
+     * Reduces the stock of several products with one JDBC batch of conditional UPDATEs
+     * Each row is only decremented if it holds enough stock. Outside a transaction the
+     * batch commits or rolls back as a whole; inside one, a false result leaves earlier
+     * rows decremented until the caller rolls back
+     * @param quantities Quantity to remove, keyed by product ID
+     * @return true if every product had enough stock and was decremented, false otherwise
+     */
+    boolean decrementStock(Map<Integer, Integer> quantities);
+
+    /**
+     * Retrieves the available quantity of several products in one query
+     * @param productIds Product IDs to look up
+     * @return Quantity available keyed by product ID; products without inventory have no entry
+     */
+    Map<Integer, Integer> getStockLevels(Collection<Integer> productIds);
 }
@@ -1,5 +1,7 @@
 package com.smartcommerce.dao.interfaces;
 
+import com.smartcommerce.dtos.request.OrderCursor;
+import com.smartcommerce.dtos.request.OrderFilterDTO;
 import com.smartcommerce.model.Order;
 
 import java.util.List;
@@ -36,6 +38,18 @@ public interface OrderDaoInterface {
      */
     List<Order> getOrdersByUserId(int userId);
 
+    /**
+     * Retrieves one keyset page of orders matching the filters, most recent first
+     * Seeks past the cursor with an (order_date, order_id) row comparison, so the
+     * cost of a page does not depend on how deep it is
+     *
+     * @param filters Filter criteria, may be null
+     * @param after   Position of the last order on the previous page, or null for the first page
+     * @param limit   Maximum number of orders to return
+     * @return List of orders following the cursor, without their items
+     */
+    List<Order> findOrdersAfter(OrderFilterDTO filters, OrderCursor after, int limit);
+
     /**
      * Updates the status of an existing order
      *
@@ -3,7 +3,9 @@ package com.smartcommerce.dao.interfaces;
 import com.smartcommerce.model.OrderItem;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface OrderItemDaoInterface {
     /**
@@ -25,6 +27,15 @@ public interface OrderItemDaoInterface {
      */
     boolean addOrderItem(int orderId, int productId, int quantity, BigDecimal unitPrice);
 
+    /**
+     * Adds several order items with a single JDBC batch
+     * Generated IDs and subtotals are set on the given items
+     *
+     * @param items The order items to be added
+     * @return true if every order item was added, false otherwise
+     */
+    boolean addOrderItems(List<OrderItem> items);
+
     /**
      * Retrieves all order items for a specific order
      *
@@ -33,6 +44,15 @@ public interface OrderItemDaoInterface {
      */
     List<OrderItem> getOrderItemsByOrderId(int orderId);
 
+    /**
+     * Retrieves the order items of several orders on one connection
+     * IDs are sent in chunks of IN (...) queries instead of one query per order
+     *
+     * @param orderIds The IDs of the orders; duplicates are ignored
+     * @return Order items grouped by order ID; orders without items have no entry
+     */
+    Map<Integer, List<OrderItem>> getOrderItemsByOrderIds(Collection<Integer> orderIds);
+
     /**
      * Deletes an order item from the database
      *
@@ -1,8 +1,14 @@
 package com.smartcommerce.dao.interfaces;
 
+import com.smartcommerce.cache.CatalogSnapshot;
+import com.smartcommerce.dtos.request.ProductCursor;
+import com.smartcommerce.dtos.request.ProductFilterDTO;
 import com.smartcommerce.model.Product;
+import com.smartcommerce.sorting.ProductSortField;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ProductDaoInterface {
     /**
@@ -23,7 +29,8 @@ public interface ProductDaoInterface {
 
     /**
      * Retrieves all products from the database
-     * Uses caching to improve performance
+     * Uses caching to improve performance; the returned list is an unmodifiable
+     * view of the cached catalog and its products must be treated as read-only
      *
      * @return List of all products, ordered by product ID (most recent first)
      */
@@ -37,6 +44,16 @@ public interface ProductDaoInterface {
      */
     Product getProductById(int id);
 
+    /**
+     * Retrieves several products in one round trip
+     * Cached products are served from the catalog snapshot; the rest are fetched
+     * with a single IN query
+     *
+     * @param ids Product IDs; duplicates and unknown IDs are ignored
+     * @return Products found, in the order their IDs were first given
+     */
+    List<Product> getProductsByIds(Collection<Integer> ids);
+
     /**
      * Updates an existing product in the database
      *
@@ -54,18 +71,117 @@ public interface ProductDaoInterface {
     boolean deleteProduct(int id);
 
     /**
-     * Searches for products by name or description
+     * Searches for products by name, description or category
+     * Served from the in-memory inverted index when the catalog is cached: every term
+     * of the query must match (as a word prefix) for a product to be returned
      *
      * @param term The search term to match against product name or description
      * @return List of products matching the search term
      */
     List<Product> searchProducts(String term);
 
+    /**
+     * Retrieves one page of search results
+     * In FULLTEXT mode results are ranked by relevance and paginated in SQL
+     *
+     * @param term   The search term
+     * @param offset Number of matching products to skip
+     * @param limit  Maximum number of products to return
+     * @return List of products on the requested page of results
+     */
+    List<Product> searchProducts(String term, long offset, int limit);
+
+    /**
+     * Looks up the IDs of products matching a search term in the in-memory index
+     *
+     * @param term The search term
+     * @return IDs of matching products, or null if the index is not available
+     */
+    Set<Integer> searchProductIds(String term);
+
+    /**
+     * Retrieves one page of products matching the filters, sorted and paginated in SQL
+     * Ties are broken by product ID (most recent first)
+     *
+     * @param filters    Filter criteria, may be null
+     * @param sortField  Field to sort by
+     * @param descending true to sort descending, false for ascending
+     * @param offset     Number of matching products to skip
+     * @param limit      Maximum number of products to return
+     * @return List of products on the requested page
+     */
+    List<Product> findProducts(ProductFilterDTO filters, ProductSortField sortField,
+                               boolean descending, long offset, int limit);
+
+    /**
+     * Retrieves one keyset page of products matching the filters
+     * Seeks past the cursor with a (sort column, product_id) row comparison, so the
+     * cost of a page does not depend on how deep it is
+     *
+     * @param filters    Filter criteria, may be null
+     * @param sortField  Field to sort by
+     * @param descending true to sort descending, false for ascending
+     * @param after      Position of the last product on the previous page, or null for the first page
+     * @param limit      Maximum number of products to return
+     * @return List of products following the cursor
+     */
+    List<Product> findProductsAfter(ProductFilterDTO filters, ProductSortField sortField,
+                                    boolean descending, ProductCursor after, int limit);
+
+    /**
+     * Counts products matching the filters with a single COUNT(*) query
+     *
+     * @param filters Filter criteria, may be null
+     * @return Number of matching products
+     */
+    long countProducts(ProductFilterDTO filters);
+
+    /**
+     * Returns the cached catalog snapshot if it is still valid
+     * Does not load the catalog when the cache is cold
+     *
+     * @return The current snapshot, or null if the cache is cold or expired
+     */
+    CatalogSnapshot getCatalogSnapshot();
+
     /**
      * Invalidates the product cache, forcing a fresh database query on next access
      */
     void invalidateCache();
 
+    /**
+     * Re-reads a single product's stock and patches it into the cached catalog
+     * Used when inventory changes outside this DAO; if the stock cannot be read the
+     * product is evicted from the cache instead
+     *
+     * @param productId The product ID
+     */
+    void refreshProduct(int productId);
+
+    /**
+     * Re-reads the stock of several products with a single IN query and patches it into the cached catalog
+     *
+     * @param productIds The product IDs; duplicates are ignored
+     */
+    void refreshProducts(Collection<Integer> productIds);
+
+    /**
+     * Returns the current catalog version
+     * The version increases monotonically on every product write and cache reload
+     *
+     * @return The current catalog version
+     */
+    long getCatalogVersion();
+
+    /**
+     * Returns the catalog version at which a product last changed
+     * Like the catalog version, it only advances once the change is visible to readers
+     *
+     * @param productId The product ID
+     * @return The product's version
+     */
+    long getProductVersion(int productId);
+
     /**
      * Retrieves cache statistics
      *
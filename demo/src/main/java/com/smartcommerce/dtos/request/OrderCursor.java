@@ -0,0 +1,55 @@
+package com.smartcommerce.dtos.request;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.smartcommerce.exception.BusinessException;
+import com.smartcommerce.model.Order;
+
+/**
+ * Position of the last order on a keyset page of orders, which are listed by
+ * (order_date, order_id) descending.
+ * Encoded as an opaque URL-safe token that clients pass back to fetch the next page.
+ */
+public record OrderCursor(
+        Timestamp orderDate,
+        int orderId
+) {
+    /**
+     * Builds the cursor pointing just past the given order
+     */
+    public static OrderCursor after(Order order) {
+        return new OrderCursor(order.getOrderDate(), order.getOrderId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque token
+     */
+    public String encode() {
+        String raw = orderDate.toLocalDateTime() + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     *
+     * @throws BusinessException if the token is malformed
+     */
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new BusinessException("Invalid cursor");
+            }
+            return new OrderCursor(
+                    Timestamp.valueOf(LocalDateTime.parse(parts[0])),
+                    Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.smartcommerce.dtos.request;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for order listing filter parameters
+ */
+@Schema(description = "Order filter criteria for paginated order listings")
+public record OrderFilterDTO(
+
+        @Schema(description = "Filter by order status", example = "pending")
+        String status,
+
+        @Schema(description = "Filter by the user who placed the order", example = "1")
+        Integer userId,
+
+        @Schema(description = "Earliest order date (inclusive)", example = "2026-01-01")
+        LocalDate fromDate,
+
+        @Schema(description = "Latest order date (inclusive)", example = "2026-01-31")
+        LocalDate toDate
+) {
+    /**
+     * Check if any filter is applied
+     */
+    public boolean hasFilters() {
+        return status != null || userId != null || fromDate != null || toDate != null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartcommerce.dtos.request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.smartcommerce.exception.BusinessException;
+import com.smartcommerce.model.Product;
+import com.smartcommerce.sorting.ProductSortField;
+
+/**
+ * Position of the last product on a keyset page.
+ * Encoded as an opaque URL-safe token that clients pass back to fetch the next page.
+ * The sort key is null when the product has no value for the sort field.
+ */
+public record ProductCursor(
+        ProductSortField sortField,
+        boolean descending,
+        int productId,
+        String sortKey
+) {
+    /**
+     * Builds the cursor pointing just past the given product
+     */
+    public static ProductCursor after(Product product, ProductSortField sortField, boolean descending) {
+        return new ProductCursor(sortField, descending, product.getProductId(), sortField.cursorKey(product));
+    }
+
+    /**
+     * Encodes this cursor as an opaque token
+     */
+    public String encode() {
+        // N marks a missing sort key, V precedes a present one (which may itself be empty)
+        String key = sortKey == null ? "N" : "V" + sortKey;
+        String raw = sortField.name() + ":" + (descending ? "D" : "A") + ":" + productId + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     *
+     * @throws BusinessException if the token is malformed
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length != 4 || !(parts[3].equals("N") || parts[3].startsWith("V"))) {
+                throw new BusinessException("Invalid cursor");
+            }
+            return new ProductCursor(
+                    ProductSortField.valueOf(parts[0]),
+                    "D".equals(parts[1]),
+                    Integer.parseInt(parts[2]),
+                    parts[3].equals("N") ? null : parts[3].substring(1));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    /**
+     * JDBC parameter value of the sort key, or null if the product had no value
+     */
+    public Object sortValue() {
+        return sortField.cursorValue(sortKey);
+    }
+}
@@ -0,0 +1,17 @@
+package com.smartcommerce.dtos.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) paginated result
+ *
+ * @param content    items on this page
+ * @param nextCursor opaque cursor for the next page, or null if this is the last page
+ * @param <T>        type of the items
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.smartcommerce.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Handle for an order accepted into the asynchronous intake queue
+ *
+ * @param ticketId ID to poll at GET /api/orders/intake/{ticketId}
+ * @param status   QUEUED, PROCESSING, COMPLETED or FAILED
+ * @param orderId  ID of the created order once COMPLETED; fetch it at GET /api/orders/{orderId}
+ * @param message  reason the order was rejected when FAILED
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Status of an order accepted for asynchronous processing")
+public record OrderIntakeResponse(
+        @Schema(description = "Intake ticket ID", example = "3f1c2b7e-5d0a-4c1e-9a55-0b6f3d2e8c41")
+        String ticketId,
+        @Schema(description = "Processing status", example = "QUEUED")
+        Status status,
+        @Schema(description = "Created order ID, once completed", example = "42")
+        Integer orderId,
+        @Schema(description = "Failure reason, if failed", example = "Cart is empty")
+        String message) {
+
+    public enum Status {
+        QUEUED, PROCESSING, COMPLETED, FAILED
+    }
+}
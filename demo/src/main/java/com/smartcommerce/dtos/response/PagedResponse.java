@@ -2,6 +2,8 @@ package com.smartcommerce.dtos.response;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,11 +28,13 @@ public class PagedResponse<T> {
     @Schema(description = "Number of items per page", example = "10")
     private int pageSize;
 
-    @Schema(description = "Total number of items across all pages", example = "42")
-    private long totalElements;
+    @Schema(description = "Total number of items across all pages; in cursor mode only sent on the first page", example = "42")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
 
-    @Schema(description = "Total number of pages", example = "5")
-    private int totalPages;
+    @Schema(description = "Total number of pages; in cursor mode only sent on the first page", example = "5")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
 
     @Schema(description = "Whether this is the first page", example = "true")
     private boolean first;
@@ -47,6 +51,9 @@ public class PagedResponse<T> {
     @Schema(description = "Sort direction", example = "ASC", allowableValues = {"ASC", "DESC"})
     private String sortDirection;
 
+    @Schema(description = "Opaque cursor for the next page in cursor mode; null on the last page or in offset mode")
+    private String nextCursor;
+
     /**
      * Constructor for creating paginated response
      */
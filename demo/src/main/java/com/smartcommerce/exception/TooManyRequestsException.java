@@ -0,0 +1,18 @@
+package com.smartcommerce.exception;
+
+/**
+ * Thrown when a request is refused because the server is at capacity
+ * The client may retry after the given number of seconds
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
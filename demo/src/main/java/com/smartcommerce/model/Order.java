@@ -25,6 +25,24 @@ public class Order {
         this.orderItems = new ArrayList<>(); // Initialize the list
     }
 
+    /**
+     * Copies an order and its items, e.g. to retry a write that changed the original
+     */
+    public Order(Order other) {
+        this.orderId = other.orderId;
+        this.userId = other.userId;
+        this.userName = other.userName;
+        this.orderDate = other.orderDate;
+        this.status = other.status;
+        this.totalAmount = other.totalAmount;
+        this.orderItems = new ArrayList<>();
+        if (other.orderItems != null) {
+            for (OrderItem item : other.orderItems) {
+                this.orderItems.add(new OrderItem(item));
+            }
+        }
+    }
+
     // Getters and Setters
     public int getOrderId() { return orderId; }
     public void setOrderId(int orderId) { this.orderId = orderId; }
@@ -21,6 +21,19 @@ public class OrderItem {
         this.subtotal = unitPrice.multiply(new BigDecimal(quantity));
     }
 
+    /**
+     * Copies an order item, e.g. to retry a write that changed the original
+     */
+    public OrderItem(OrderItem other) {
+        this.orderItemId = other.orderItemId;
+        this.orderId = other.orderId;
+        this.productId = other.productId;
+        this.productName = other.productName;
+        this.quantity = other.quantity;
+        this.unitPrice = other.unitPrice;
+        this.subtotal = other.subtotal;
+    }
+
     // Getters and Setters
     public int getOrderItemId() { return orderItemId; }
     public void setOrderItemId(int orderItemId) { this.orderItemId = orderItemId; }
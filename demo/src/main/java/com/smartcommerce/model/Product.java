@@ -23,6 +23,17 @@ public class Product {
         this.categoryId = categoryId;
     }
 
+    public Product(Product other) {
+        this.productId = other.productId;
+        this.productName = other.productName;
+        this.description = other.description;
+        this.price = other.price;
+        this.categoryId = other.categoryId;
+        this.categoryName = other.categoryName;
+        this.createdAt = other.createdAt;
+        this.quantityAvailable = other.quantityAvailable;
+    }
+
     public int getProductId() {
         return productId;
     }
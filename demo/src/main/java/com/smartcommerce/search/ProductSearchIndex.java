@@ -0,0 +1,173 @@
+package com.smartcommerce.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.smartcommerce.model.Product;
+
+/**
+ * Token-based inverted index over product name, description and category name.
+ *
+ * Tokens are kept in a sorted map so a query term matches every token it is a
+ * prefix of. A query with several terms returns the products matching all of them.
+ * Lookups only touch the postings of the query terms, so their cost depends on the
+ * number of matches rather than on the size of the catalog.
+ *
+ * The index is safe for concurrent use. Updating a product removes and re-adds its
+ * postings, so a concurrent search may briefly miss that one product.
+ */
+public class ProductSearchIndex {
+
+    private final ConcurrentSkipListMap<String, Set<Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Set<String>> tokensByProduct = new ConcurrentHashMap<>();
+
+    /**
+     * Builds an index over the given products
+     */
+    public static ProductSearchIndex build(Collection<Product> products) {
+        ProductSearchIndex index = new ProductSearchIndex();
+        for (Product product : products) {
+            index.add(product);
+        }
+        return index;
+    }
+
+    /**
+     * Adds or replaces the postings of a product
+     */
+    public void update(Product product) {
+        remove(product.getProductId());
+        add(product);
+    }
+
+    /**
+     * Removes all postings of a product
+     */
+    public void remove(int productId) {
+        Set<String> tokens = tokensByProduct.remove(productId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            postings.computeIfPresent(token, (key, ids) -> {
+                ids.remove(productId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Returns the IDs of products matching every term of the query.
+     * Each term matches tokens it is a prefix of, so "head" finds "headphones".
+     *
+     * @param query free text query
+     * @return matching product IDs, empty if the query has no searchable terms
+     */
+    public Set<Integer> search(String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return Set.of();
+        }
+
+        // Longer terms are usually more selective; start with them to keep the working set small
+        terms.sort(Comparator.comparingInt(String::length).reversed());
+
+        Set<Integer> result = null;
+        for (String term : terms) {
+            Set<Integer> matches = new HashSet<>();
+            for (Set<Integer> ids : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                if (result == null) {
+                    matches.addAll(ids);
+                } else {
+                    for (Integer id : ids) {
+                        if (result.contains(id)) {
+                            matches.add(id);
+                        }
+                    }
+                }
+            }
+            result = matches;
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether a single product matches the query under the same rule as search(),
+     * for callers that have the product but no index
+     */
+    public static boolean matches(Product product, String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return false;
+        }
+
+        List<String> tokens = tokensOf(product);
+        for (String term : terms) {
+            if (tokens.stream().noneMatch(token -> token.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of distinct tokens in the index
+     */
+    public int tokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * Splits text into lowercase tokens of letters and digits
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> tokensOf(Product product) {
+        List<String> tokens = tokenize(product.getProductName());
+        tokens.addAll(tokenize(product.getDescription()));
+        tokens.addAll(tokenize(product.getCategoryName()));
+        return tokens;
+    }
+
+    private void add(Product product) {
+        Set<String> tokens = new HashSet<>(tokensOf(product));
+
+        int productId = product.getProductId();
+        for (String token : tokens) {
+            postings.compute(token, (key, ids) -> {
+                Set<Integer> updated = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                updated.add(productId);
+                return updated;
+            });
+        }
+        tokensByProduct.put(productId, tokens);
+    }
+}
@@ -0,0 +1,57 @@
+package com.smartcommerce.search;
+
+/**
+ * Backend used for product search, selected with the product.search.mode property
+ */
+public enum ProductSearchMode {
+
+    /**
+     * In-memory inverted index built from the cached catalog, with a REGEXP query
+     * applying the same token-prefix rule as fallback while the cache is cold
+     */
+    INDEX,
+
+    /**
+     * MySQL FULLTEXT index on Products(name, description) queried with MATCH ... AGAINST.
+     * Keeps no per-JVM index, so every node of a multi-node deployment shares the same search.
+     */
+    FULLTEXT;
+
+    /**
+     * Resolves a configured mode name (case-insensitive), defaulting to INDEX
+     */
+    public static ProductSearchMode fromString(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return INDEX;
+        }
+        return valueOf(mode.trim().toUpperCase());
+    }
+
+    /**
+     * Converts free text into a BOOLEAN MODE query in which every word is required
+     * and matched as a prefix, e.g. "wireless head" becomes "+wireless* +head*"
+     */
+    public static String toRequiredPrefixQuery(String text) {
+        StringBuilder query = new StringBuilder();
+        for (String token : ProductSearchIndex.tokenize(text)) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(token).append('*');
+        }
+        return query.toString();
+    }
+
+    /**
+     * Whether the text uses FULLTEXT boolean operators and should be run in BOOLEAN MODE
+     * rather than NATURAL LANGUAGE MODE
+     */
+    public static boolean isBooleanQuery(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if ("+-*\"()<>~".indexOf(text.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -16,10 +16,12 @@ import com.smartcommerce.model.CartItem;
 import com.smartcommerce.model.Product;
 import com.smartcommerce.model.User;
 import com.smartcommerce.service.serviceInterface.CartItemService;
+import com.smartcommerce.service.serviceInterface.InventoryServiceInterface;
 
 /**
  * Service layer for CartItem entity
  * Handles business logic, validation, and orchestration of cart operations
+ * Every cart line holds a time-limited stock reservation for its quantity
  */
 @Service
 @Transactional
@@ -28,14 +30,17 @@ public class CartItemServiceImp implements CartItemService {
     private final CartItemDaoInterface cartItemDao;
     private final UserDaoInterface userDao;
     private final ProductDaoInterface productDao;
+    private final InventoryServiceInterface inventoryService;
 
     @Autowired
     public CartItemServiceImp(CartItemDaoInterface cartItemDao,
                                UserDaoInterface userDao,
-                               ProductDaoInterface productDao) {
+                               ProductDaoInterface productDao,
+                               InventoryServiceInterface inventoryService) {
         this.cartItemDao = cartItemDao;
         this.userDao = userDao;
         this.productDao = productDao;
+        this.inventoryService = inventoryService;
     }
 
     /**
@@ -60,14 +65,10 @@ public class CartItemServiceImp implements CartItemService {
             throw new BusinessException("Quantity must be greater than zero");
         }
 
-        // Check stock availability
+        // Reserve stock for the whole cart line
         CartItem existingItem = cartItemDao.getCartItem(userId, productId);
         int totalQuantity = quantity + (existingItem != null ? existingItem.getQuantity() : 0);
-        
-        if (product.getQuantityAvailable() < totalQuantity) {
-            throw new BusinessException("Insufficient stock for product: " + product.getProductName() +
-                    ". Available: " + product.getQuantityAvailable() + ", Requested: " + totalQuantity);
-        }
+        reserveStock(userId, product, totalQuantity);
 
         // Create cart item and add to cart
         CartItem cartItem = new CartItem();
@@ -149,10 +150,7 @@ public class CartItemServiceImp implements CartItemService {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
 
-        if (product.getQuantityAvailable() < quantity) {
-            throw new BusinessException("Insufficient stock for product: " + product.getProductName() +
-                    ". Available: " + product.getQuantityAvailable() + ", Requested: " + quantity);
-        }
+        reserveStock(userId, product, quantity);
 
         // Update quantity
         boolean success = cartItemDao.updateQuantity(userId, productId, quantity);
@@ -179,6 +177,7 @@ public class CartItemServiceImp implements CartItemService {
         if (!success) {
             throw new BusinessException("Failed to remove item from cart");
         }
+        inventoryService.releaseReservation(userId, productId);
     }
 
     /**
@@ -194,6 +193,7 @@ public class CartItemServiceImp implements CartItemService {
 
         // Clear the cart (will return false if cart is already empty, which is okay)
         cartItemDao.clearCart(userId);
+        inventoryService.releaseReservations(userId);
     }
 
     /**
@@ -225,4 +225,16 @@ public class CartItemServiceImp implements CartItemService {
 
         return cartItemDao.getCartTotal(userId);
     }
+
+    /**
+     * Holds the cart line's quantity against stock not reserved by other carts
+     * A failed cart write rolls back and puts the previous reservation back
+     */
+    private void reserveStock(int userId, Product product, int quantity) {
+        if (!inventoryService.reserve(userId, product.getProductId(), quantity)) {
+            int available = inventoryService.getAvailableQuantity(product.getProductId(), userId);
+            throw new BusinessException("Insufficient stock for product: " + product.getProductName() +
+                    ". Available: " + available + ", Requested: " + quantity);
+        }
+    }
 }
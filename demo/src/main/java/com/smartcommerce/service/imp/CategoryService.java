@@ -157,6 +157,9 @@ public class CategoryService implements CategoryServiceInterface {
             }
         }
 
+        // Cached products carry the category name, so a rename has to reach the product catalog
+        boolean renamed = !existingCategory.getCategoryName().equals(categoryDetails.getCategoryName());
+
         // Update category details
         existingCategory.setCategoryName(categoryDetails.getCategoryName());
         existingCategory.setDescription(categoryDetails.getDescription());
@@ -167,6 +170,10 @@ public class CategoryService implements CategoryServiceInterface {
         if (!success) {
             throw new BusinessException("Failed to update category");
         }
+        if (renamed) {
+            // Reloads the catalog and bumps its version, so listing ETags and cached pages change too
+            productDao.invalidateCache();
+        }
 
         return getCategoryById(categoryId);
     }
@@ -4,27 +4,39 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.smartcommerce.cache.ReservationLedger;
 import com.smartcommerce.dao.interfaces.InventoryDaoInterface;
+import com.smartcommerce.dao.interfaces.ProductDaoInterface;
 import com.smartcommerce.model.Inventory;
 import com.smartcommerce.service.serviceInterface.InventoryServiceInterface;
 
 /**
  * Service layer for Inventory entity
  * Handles business logic, validation, and caching of inventory operations
+ * Availability is answered from a ledger of time-limited cart reservations
  */
 @Service
 public class InventoryServiceImp implements InventoryServiceInterface {
     
     private final InventoryDaoInterface inventoryDAO;
+    private final ProductDaoInterface productDAO;
+    private final ReservationLedger reservations;
     private Map<Integer, Inventory> inventoryCache;
     private long lastCacheUpdate;
     private static final long CACHE_VALIDITY = 120000; // 2 minutes (inventory changes frequently)
 
     @Autowired
-    public InventoryServiceImp(InventoryDaoInterface inventoryDAO) {
+    public InventoryServiceImp(InventoryDaoInterface inventoryDAO, ProductDaoInterface productDAO,
+                               @Value("${inventory.reservation.ttl-ms:900000}") long reservationTtlMillis) {
         this.inventoryDAO = inventoryDAO;
+        this.productDAO = productDAO;
+        this.reservations = new ReservationLedger(reservationTtlMillis, inventoryDAO::getStockLevels);
         this.inventoryCache = new HashMap<>();
         this.lastCacheUpdate = 0;
     }
@@ -33,7 +45,7 @@ public class InventoryServiceImp implements InventoryServiceInterface {
     public boolean updateInventory(int productId, int quantity) {
         boolean success = inventoryDAO.updateInventory(productId, quantity);
         if (success) {
-            invalidateCache();
+            refreshCaches(List.of(productId));
         }
         return success;
     }
@@ -72,21 +84,123 @@ public class InventoryServiceImp implements InventoryServiceInterface {
     }
 
     /**
-     * Business logic: Check if product is in stock
+     * Business logic: Check if product is in stock (stock held by carts does not count)
      */
     @Override
     public boolean isInStock(int productId) {
-        Inventory inv = getInventoryByProductId(productId);
-        return inv != null && inv.getQuantityAvailable() > 0;
+        return getAvailableQuantity(productId) > 0;
     }
 
     /**
-     * Business logic: Check if sufficient quantity available
+     * Business logic: Check if sufficient quantity available (stock held by carts does not count)
      */
     @Override
     public boolean hasEnoughStock(int productId, int requestedQuantity) {
-        Inventory inv = getInventoryByProductId(productId);
-        return inv != null && inv.getQuantityAvailable() >= requestedQuantity;
+        return getAvailableQuantity(productId) >= requestedQuantity;
+    }
+
+    @Override
+    public int getAvailableQuantity(int productId) {
+        return reservations.available(productId, ReservationLedger.NO_USER);
+    }
+
+    @Override
+    public int getAvailableQuantity(int productId, int userId) {
+        return reservations.available(productId, userId);
+    }
+
+    /**
+     * Reservations: Hold stock for a cart line
+     * If the surrounding transaction rolls back, the user's previous hold is put back
+     */
+    @Override
+    public boolean reserve(int userId, int productId, int quantity) {
+        int previous = reservations.heldBy(userId, productId);
+        if (!reservations.hold(userId, productId, quantity)) {
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        reservations.restore(userId, productId, previous);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    @Override
+    public void releaseReservation(int userId, int productId) {
+        reservations.release(userId, productId);
+    }
+
+    @Override
+    public void releaseReservations(int userId) {
+        reservations.releaseAll(userId);
+    }
+
+    /**
+     * Reservations: Confirm a cart's holds at checkout (checked in memory)
+     * If the surrounding transaction rolls back, the holds are put back as they were
+     */
+    @Override
+    public boolean confirmReservations(int userId, Map<Integer, Integer> quantities) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Integer, Integer> previous = new HashMap<>();
+            for (Integer productId : quantities.keySet()) {
+                previous.put(productId, reservations.heldBy(userId, productId));
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        previous.forEach((productId, quantity) -> reservations.restore(userId, productId, quantity));
+                    }
+                }
+            });
+        }
+        return reservations.confirm(userId, quantities);
+    }
+
+    /**
+     * Reservations: Drop a checked-out cart's holds once the transaction commits
+     * The stock deduction has already registered its ledger refresh, which runs first,
+     * so the sold units leave the stock on hand before they stop counting as held
+     */
+    @Override
+    public void commitReservations(int userId, Map<Integer, Integer> quantities) {
+        List<Integer> sold = List.copyOf(quantities.keySet());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reservations.consume(userId, sold);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reservations.consume(userId, sold);
+            }
+        });
+    }
+
+    /**
+     * Reservations: Expire holds whose TTL has passed
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:30000}")
+    public void expireReservations() {
+        int expired = reservations.sweep();
+        if (expired > 0) {
+            System.out.println("✓ Expired " + expired + " stock reservations. " + reservations.getStats());
+        }
+    }
+
+    @Override
+    public String getReservationStats() {
+        return reservations.getStats();
     }
 
     /**
@@ -94,12 +208,24 @@ public class InventoryServiceImp implements InventoryServiceInterface {
      */
     @Override
     public boolean reduceStock(int productId, int quantity) {
-        Inventory inv = getInventoryByProductId(productId);
-        if (inv != null && inv.getQuantityAvailable() >= quantity) {
-            int newQuantity = inv.getQuantityAvailable() - quantity;
-            return updateInventory(productId, newQuantity);
+        // Checked and applied by the database in one statement, never against a cached quantity
+        boolean success = inventoryDAO.decrementStock(productId, quantity);
+        if (success) {
+            refreshCaches(List.of(productId));
         }
-        return false;
+        return success;
+    }
+
+    /**
+     * Business logic: Reduce stock for a whole order in one batch
+     */
+    @Override
+    public boolean reduceStock(Map<Integer, Integer> quantities) {
+        boolean success = inventoryDAO.decrementStock(quantities);
+        if (success) {
+            refreshCaches(quantities.keySet());
+        }
+        return success;
     }
 
     /**
@@ -107,12 +233,11 @@ public class InventoryServiceImp implements InventoryServiceInterface {
      */
     @Override
     public boolean addStock(int productId, int quantity) {
-        Inventory inv = getInventoryByProductId(productId);
-        if (inv != null) {
-            int newQuantity = inv.getQuantityAvailable() + quantity;
-            return updateInventory(productId, newQuantity);
+        boolean success = inventoryDAO.incrementStock(productId, quantity);
+        if (success) {
+            refreshCaches(List.of(productId));
         }
-        return false;
+        return success;
     }
 
     /**
@@ -151,4 +276,28 @@ public class InventoryServiceImp implements InventoryServiceInterface {
         inventoryCache.clear();
         lastCacheUpdate = 0;
     }
+
+    /**
+     * Drops cached inventory and re-reads the products into the cached catalog and the
+     * reservation ledger so their stock matches the new quantities. Inside a transaction
+     * the refresh waits for commit, so it never picks up stock levels that are later rolled back.
+     */
+    private void refreshCaches(Collection<Integer> productIds) {
+        invalidateCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            productDAO.refreshProducts(productIds);
+            reservations.refresh(productIds);
+            return;
+        }
+
+        List<Integer> changed = List.copyOf(productIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateCache();
+                productDAO.refreshProducts(changed);
+                reservations.refresh(changed);
+            }
+        });
+    }
 }
\ No newline at end of file
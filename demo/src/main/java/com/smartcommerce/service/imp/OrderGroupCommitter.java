@@ -0,0 +1,395 @@
+package com.smartcommerce.service.imp;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.smartcommerce.exception.BusinessException;
+import com.smartcommerce.exception.TooManyRequestsException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Group commit for concurrent order writes.
+ *
+ * Orders submitted within order.group-commit.window-ms of each other (at most
+ * order.group-commit.max-batch of them) are written by a flusher thread in one database
+ * transaction, so they share one commit and one log flush instead of paying for their own.
+ * Only the commit is shared: each order still issues its own statements, as it would alone.
+ * order.group-commit.flushers threads gather and commit batches side by side, each on its
+ * own connection, so one batch holding its row locks does not stall every other order;
+ * a deadlock between two batches aborts one of them as described below.
+ *
+ * Each order runs as a nested transaction on its own savepoint: an order that fails
+ * (e.g. insufficient stock) is rolled back to its savepoint and reported to its caller
+ * alone, while the rest of the batch commits. The transaction synchronizations it
+ * registered are dropped with it and told it rolled back, so its cache and reservation
+ * updates follow its own outcome rather than the batch's. A failure that may have taken
+ * the whole transaction with it (a deadlock, a lock wait timeout, or a savepoint that could
+ * not be rolled back) aborts the batch instead. Then, as when the batch commit itself fails,
+ * every order of the batch is retried in its own transaction, so no caller is told its order
+ * was written when it was not.
+ *
+ * Callers block until their batch has committed and must not hold a transaction (and so
+ * a pooled connection) while they wait; submissions from inside a transaction, or with
+ * group commit disabled, run directly on the calling thread. An order no flusher has picked
+ * up within order.group-commit.timeout-ms is withdrawn and refused with 429; one already
+ * being written may still commit, so its caller keeps waiting for the outcome.
+ * On shutdown, orders still queued are refused rather than left waiting.
+ */
+@Component
+public class OrderGroupCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderGroupCommitter.class);
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final long SHUTDOWN_WAIT_MS = 10000;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate orderSavepoint;
+    private final BlockingQueue<PendingOrder<?>> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> flushers = new ArrayList<>();
+    private volatile boolean closed;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder failedOrders = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    /**
+     * One submitted order: its work and, once the batch is done, its outcome
+     */
+    private static final class PendingOrder<T> {
+        final Supplier<T> work;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        // Taken by the flusher that writes the order, or by its caller giving up on it
+        final AtomicBoolean claimed = new AtomicBoolean();
+        T value;
+        Throwable error;
+
+        PendingOrder(Supplier<T> work) {
+            this.work = work;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Runs the order inside the given template, keeping the outcome for later
+         */
+        void run(TransactionTemplate transaction) {
+            try {
+                value = transaction.execute(status -> work.get());
+                error = null;
+            } catch (Throwable e) {
+                // Errors included: the flusher must outlive any one order
+                value = null;
+                error = e;
+            }
+        }
+
+        void publish() {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+
+    /**
+     * Rolls back a batch whose transaction may no longer hold the orders written before it
+     */
+    private static final class BatchAbortedException extends RuntimeException {
+        BatchAbortedException(Throwable cause) {
+            super("Order failed outside its savepoint: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Autowired
+    public OrderGroupCommitter(PlatformTransactionManager transactionManager,
+                               @Value("${order.group-commit.enabled:false}") boolean enabled,
+                               @Value("${order.group-commit.window-ms:2}") long windowMillis,
+                               @Value("${order.group-commit.max-batch:32}") int maxBatchSize,
+                               @Value("${order.group-commit.flushers:4}") int flusherCount,
+                               @Value("${order.group-commit.timeout-ms:30000}") long timeoutMillis) {
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.orderSavepoint = new TransactionTemplate(transactionManager);
+        this.orderSavepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < Math.max(flusherCount, 1); i++) {
+            Thread flusher = new Thread(this::flushLoop, "order-group-commit-" + i);
+            flusher.setDaemon(true);
+            flusher.start();
+            flushers.add(flusher);
+        }
+    }
+
+    /**
+     * Runs an order write as part of the next group commit and waits for its result
+     *
+     * @param work the transactional order operation, e.g. a call to OrderService. It runs
+     *             again on its own if its batch is aborted, so it must start from fresh
+     *             inputs on every call rather than objects an earlier run has changed
+     * @return the work's result, once its batch has committed
+     * @throws TooManyRequestsException if the order was not picked up within the timeout
+     * @throws BusinessException if the server is shutting down
+     */
+    public <T> T submit(Supplier<T> work) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        PendingOrder<T> order = new PendingOrder<>(work);
+        queue.add(order);
+        if (closed) {
+            // Raced with shutdown, which may already have drained the queue
+            refuseOnShutdown(order);
+        }
+
+        try {
+            return order.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return withdrawOrAwait(order);
+        } catch (TimeoutException e) {
+            return withdrawOrAwait(order);
+        }
+    }
+
+    /**
+     * Gives up on an order no flusher has started yet. One that is already being written
+     * may still commit, so reporting it as failed could make its caller place it twice;
+     * the caller waits for its outcome instead.
+     */
+    private <T> T withdrawOrAwait(PendingOrder<T> order) {
+        if (order.claim()) {
+            queue.remove(order);
+            throw new TooManyRequestsException("Too many orders are being processed. Please retry shortly.",
+                    RETRY_AFTER_SECONDS);
+        }
+        try {
+            // Not interruptible: the flusher completes every order it has claimed
+            return order.result.join();
+        } catch (CompletionException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    /**
+     * Unwraps the failure an order's work threw, rethrowing Errors as they are
+     */
+    private static RuntimeException failure(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private void flushLoop() {
+        List<PendingOrder<?>> batch = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            batch.clear();
+            try {
+                // Wait for the first order, then gather more until the window closes or the batch is full
+                PendingOrder<?> first = queue.take();
+                if (!first.claim()) {
+                    continue; // its caller gave up on it
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingOrder<?> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.claim()) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: run what was gathered, one transaction each; shutdown() refuses the rest
+                batch.forEach(this::commitAlone);
+                return;
+            }
+
+            try {
+                commit(batch);
+            } catch (Throwable e) {
+                // Never leave a caller of this batch waiting, whatever went wrong
+                logger.error("Error flushing order batch of {}", batch.size(), e);
+                for (PendingOrder<?> order : batch) {
+                    order.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void commit(List<PendingOrder<?>> batch) {
+        try {
+            batchTransaction.executeWithoutResult(status -> {
+                for (PendingOrder<?> order : batch) {
+                    List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+                    order.run(orderSavepoint);
+                    if (order.error == null) {
+                        continue;
+                    }
+                    if (!rolledBackToSavepoint(order.error)) {
+                        // The orders before it may already be gone; roll back and run each alone
+                        throw new BatchAbortedException(order.error);
+                    }
+                    rollBackSynchronizationsSince(registered);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nothing in the batch was written; give every order its own transaction instead
+            logger.warn("Error committing order batch of {}: {}", batch.size(), e.getMessage());
+            failedBatches.increment();
+            batch.forEach(this::commitAlone);
+            return;
+        }
+
+        batches.increment();
+        for (PendingOrder<?> order : batch) {
+            record(order);
+        }
+    }
+
+    /**
+     * Whether an order's failure was undone by rolling back to its savepoint, leaving the
+     * batch transaction intact. MySQL rolls back the whole transaction on a deadlock (and on
+     * a lock wait timeout with innodb_rollback_on_timeout), which then also shows up as a
+     * savepoint that no longer exists when the nested transaction tries to roll back to it.
+     */
+    private static boolean rolledBackToSavepoint(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransactionException
+                    || cause instanceof PessimisticLockingFailureException
+                    || cause instanceof SQLTransactionRollbackException) {
+                return false;
+            }
+            if (cause instanceof SQLException sql
+                    && (SERIALIZATION_FAILURE.equals(sql.getSQLState())
+                    || sql.getErrorCode() == MYSQL_DEADLOCK
+                    || sql.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the synchronizations registered since the given list was taken, i.e. by an order
+     * just rolled back to its savepoint, and tells them it rolled back. Otherwise its
+     * after-commit work would run when the rest of the batch commits.
+     */
+    private static void rollBackSynchronizationsSince(List<TransactionSynchronization> registered) {
+        List<TransactionSynchronization> added = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        added.removeAll(registered);
+        if (added.isEmpty()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        registered.forEach(TransactionSynchronizationManager::registerSynchronization);
+        TransactionSynchronizationUtils.invokeAfterCompletion(added, TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    private void commitAlone(PendingOrder<?> order) {
+        order.run(batchTransaction);
+        batches.increment();
+        record(order);
+    }
+
+    private void record(PendingOrder<?> order) {
+        orders.increment();
+        if (order.error != null) {
+            failedOrders.increment();
+        }
+        order.publish();
+    }
+
+    /**
+     * Stops the flushers once their current batches are done, then refuses the orders still queued
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        flushers.forEach(Thread::interrupt);
+        long deadline = System.currentTimeMillis() + SHUTDOWN_WAIT_MS;
+        for (Thread flusher : flushers) {
+            try {
+                flusher.join(Math.max(deadline - System.currentTimeMillis(), 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        List<PendingOrder<?>> unprocessed = new ArrayList<>();
+        queue.drainTo(unprocessed);
+        unprocessed.forEach(this::refuseOnShutdown);
+        if (!unprocessed.isEmpty()) {
+            logger.warn("{} queued orders were not written before shutdown", unprocessed.size());
+        }
+    }
+
+    private void refuseOnShutdown(PendingOrder<?> order) {
+        if (order.claim()) {
+            queue.remove(order);
+            order.result.completeExceptionally(
+                    new BusinessException("Server is shutting down. Please resubmit the order."));
+        }
+    }
+
+    public String getStats() {
+        long batchCount = batches.sum();
+        double avgBatchSize = batchCount > 0 ? (double) orders.sum() / batchCount : 0;
+        return String.format("[GROUP COMMIT] Enabled: %s, Flushers: %d, Window: %d ms, Max batch: %d, Queued: %d, " +
+                        "Commits: %d, Orders: %d, Failed orders: %d, Failed batches: %d, Avg batch size: %.2f",
+                enabled, flushers.size(), TimeUnit.NANOSECONDS.toMillis(windowNanos), maxBatchSize, queue.size(),
+                batchCount, orders.sum(), failedOrders.sum(), failedBatches.sum(), avgBatchSize);
+    }
+}
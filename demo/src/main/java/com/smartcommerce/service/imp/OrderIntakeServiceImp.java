@@ -0,0 +1,268 @@
+package com.smartcommerce.service.imp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.smartcommerce.dtos.response.OrderIntakeResponse;
+import com.smartcommerce.dtos.response.OrderIntakeResponse.Status;
+import com.smartcommerce.exception.BusinessException;
+import com.smartcommerce.exception.ResourceNotFoundException;
+import com.smartcommerce.exception.TooManyRequestsException;
+import com.smartcommerce.model.Order;
+import com.smartcommerce.model.OrderItem;
+import com.smartcommerce.service.serviceInterface.OrderIntakeService;
+import com.smartcommerce.service.serviceInterface.OrderService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service layer for asynchronous order intake
+ * Orders are accepted into a bounded queue and run by virtual-thread workers, one per
+ * pooled database connection, so a burst of orders waits in the queue instead of holding
+ * request threads. A full queue is refused with 429 instead of growing without bound, and
+ * orders that fail the cheap user, product and stock checks are refused before they are queued.
+ * Finished tickets are kept for TICKET_RETENTION_MS so clients can poll their outcome.
+ * Workers hand their orders to the group committer, so concurrent orders can share a commit.
+ */
+@Service
+public class OrderIntakeServiceImp implements OrderIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeServiceImp.class);
+    private static final long TICKET_RETENTION_MS = 600000; // 10 minutes
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final OrderService orderService;
+    private final OrderGroupCommitter groupCommitter;
+    private final boolean enabled;
+    private final int workerCount;
+    private final int queueCapacity;
+    private final BlockingQueue<Ticket> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<Integer, Ticket> checkoutsByUser = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalProcessingNanos = new LongAdder();
+
+    /**
+     * One accepted order and its outcome
+     */
+    private static final class Ticket {
+        final String id = UUID.randomUUID().toString();
+        final int userId;
+        final boolean checkout;
+        final Supplier<Order> work;
+        final long acceptedNanos = System.nanoTime();
+        volatile Status status = Status.QUEUED;
+        volatile Integer orderId;
+        volatile String message;
+        volatile long finishedAt;
+
+        Ticket(int userId, boolean checkout, Supplier<Order> work) {
+            this.userId = userId;
+            this.checkout = checkout;
+            this.work = work;
+        }
+
+        OrderIntakeResponse toResponse() {
+            return new OrderIntakeResponse(id, status, orderId, message);
+        }
+    }
+
+    @Autowired
+    public OrderIntakeServiceImp(OrderService orderService,
+                                 OrderGroupCommitter groupCommitter,
+                                 @Value("${order.intake.enabled:false}") boolean enabled,
+                                 @Value("${order.intake.queue-capacity:1000}") int queueCapacity,
+                                 // Each worker holds one connection while it runs an order; more workers would only wait on the pool
+                                 @Value("${order.intake.workers:${spring.datasource.hikari.maximum-pool-size:10}}") int workers) {
+        this.orderService = orderService;
+        this.groupCommitter = groupCommitter;
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workers;
+
+        if (!enabled) {
+            this.workers = null;
+            return;
+        }
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-intake-", 0).factory());
+        for (int i = 0; i < workerCount; i++) {
+            this.workers.execute(this::work);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public OrderIntakeResponse submitOrder(Order order, List<OrderItem> orderItems) {
+        // Refuse orders that are bound to fail before accepting them; the worker checks again
+        orderService.validateOrder(order, orderItems);
+
+        Ticket ticket = new Ticket(order.getUserId(), false,
+                () -> groupCommitter.submit(() -> orderService.createOrder(new Order(order),
+                        orderItems.stream().map(OrderItem::new).toList())));
+        enqueue(ticket);
+        return ticket.toResponse();
+    }
+
+    @Override
+    public OrderIntakeResponse submitCheckout(int userId) {
+        Ticket ticket = new Ticket(userId, true,
+                () -> groupCommitter.submit(() -> orderService.checkoutFromCart(userId)));
+        Ticket running = checkoutsByUser.putIfAbsent(userId, ticket);
+        if (running != null) {
+            // A repeated click must not check out the same cart twice
+            return running.toResponse();
+        }
+
+        try {
+            orderService.validateCheckout(userId);
+            enqueue(ticket);
+        } catch (RuntimeException e) {
+            checkoutsByUser.remove(userId, ticket);
+            throw e;
+        }
+        return ticket.toResponse();
+    }
+
+    @Override
+    public OrderIntakeResponse getTicket(String ticketId, int userId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || ticket.userId != userId) {
+            throw new ResourceNotFoundException("Order ticket", "id", ticketId);
+        }
+        return ticket.toResponse();
+    }
+
+    private void enqueue(Ticket ticket) {
+        tickets.put(ticket.id, ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.id);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many orders are being processed. Please retry shortly.",
+                    RETRY_AFTER_SECONDS);
+        }
+        accepted.increment();
+    }
+
+    /**
+     * Worker loop: takes orders off the queue until the executor is shut down
+     */
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Ticket ticket;
+            try {
+                ticket = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            process(ticket);
+        }
+    }
+
+    private void process(Ticket ticket) {
+        long startTime = System.nanoTime();
+        long waitNanos = startTime - ticket.acceptedNanos;
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+        ticket.status = Status.PROCESSING;
+
+        try {
+            Order order = ticket.work.get();
+            ticket.orderId = order.getOrderId();
+            ticket.status = Status.COMPLETED;
+            completed.increment();
+        } catch (BusinessException | ResourceNotFoundException | TooManyRequestsException e) {
+            fail(ticket, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Error processing order ticket {}", ticket.id, e);
+            fail(ticket, "An unexpected error occurred. Please try again later.");
+        } catch (Error e) {
+            // The ticket must not stay PROCESSING, but an Error still ends this worker
+            fail(ticket, "An unexpected error occurred. Please try again later.");
+            throw e;
+        } finally {
+            totalProcessingNanos.add(System.nanoTime() - startTime);
+            ticket.finishedAt = System.currentTimeMillis();
+            if (ticket.checkout) {
+                checkoutsByUser.remove(ticket.userId, ticket);
+            }
+        }
+    }
+
+    private void fail(Ticket ticket, String message) {
+        ticket.message = message;
+        ticket.status = Status.FAILED;
+        failed.increment();
+    }
+
+    /**
+     * Drops finished tickets once clients have had time to collect them
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedTickets() {
+        long cutoff = System.currentTimeMillis() - TICKET_RETENTION_MS;
+        tickets.values().removeIf(ticket -> ticket.finishedAt > 0 && ticket.finishedAt < cutoff);
+    }
+
+    /**
+     * Stops the workers; orders still queued are marked failed so their clients are not left polling
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (workers == null) {
+            return;
+        }
+        workers.shutdownNow();
+
+        List<Ticket> unprocessed = new ArrayList<>();
+        queue.drainTo(unprocessed);
+        for (Ticket ticket : unprocessed) {
+            ticket.message = "Server is shutting down. Please resubmit the order.";
+            ticket.status = Status.FAILED;
+            ticket.finishedAt = System.currentTimeMillis();
+        }
+        if (!unprocessed.isEmpty()) {
+            logger.warn("{} queued orders were not processed before shutdown", unprocessed.size());
+        }
+    }
+
+    @Override
+    public String getStats() {
+        long started = completed.sum() + failed.sum();
+        double avgWaitMs = started > 0 ? totalWaitNanos.sum() / (started * 1_000_000.0) : 0;
+        double avgProcessingMs = started > 0 ? totalProcessingNanos.sum() / (started * 1_000_000.0) : 0;
+        return String.format("[ORDER INTAKE] Enabled: %s, Queue depth: %d/%d, Workers: %d, Accepted: %d, " +
+                        "Rejected: %d, Completed: %d, Failed: %d, Avg wait: %.2f ms, Max wait: %.2f ms, " +
+                        "Avg processing: %.2f ms",
+                enabled, queue.size(), queueCapacity, workerCount, accepted.sum(), rejected.sum(),
+                completed.sum(), failed.sum(), avgWaitMs, maxWaitNanos.get() / 1_000_000.0, avgProcessingMs);
+    }
+}
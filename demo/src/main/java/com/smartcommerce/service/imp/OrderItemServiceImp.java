@@ -161,10 +161,10 @@ public class OrderItemServiceImp implements OrderItemService {
      * Helper method to get all order items (for finding by ID)
      */
     private List<OrderItem> getAllOrderItems() {
-        // Get all orders and collect their items
-        List<Order> allOrders = orderDao.getAllOrders();
-        return allOrders.stream()
-                .flatMap(order -> orderItemDao.getOrderItemsByOrderId(order.getOrderId()).stream())
+        // Get all orders and collect their items with one batched lookup
+        List<Integer> orderIds = orderDao.getAllOrders().stream().map(Order::getOrderId).toList();
+        return orderItemDao.getOrderItemsByOrderIds(orderIds).values().stream()
+                .flatMap(List::stream)
                 .toList();
     }
 }
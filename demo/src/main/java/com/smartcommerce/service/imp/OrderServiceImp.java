@@ -1,18 +1,28 @@
 package com.smartcommerce.service.imp;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.smartcommerce.dao.interfaces.CartItemDaoInterface;
+import com.smartcommerce.dao.interfaces.InventoryDaoInterface;
 import com.smartcommerce.dao.interfaces.OrderDaoInterface;
 import com.smartcommerce.dao.interfaces.OrderItemDaoInterface;
 import com.smartcommerce.dao.interfaces.ProductDaoInterface;
 import com.smartcommerce.dao.interfaces.UserDaoInterface;
+import com.smartcommerce.dtos.request.OrderCursor;
+import com.smartcommerce.dtos.request.OrderFilterDTO;
+import com.smartcommerce.dtos.response.CursorPage;
 import com.smartcommerce.exception.BusinessException;
 import com.smartcommerce.exception.ResourceNotFoundException;
+import com.smartcommerce.model.CartItem;
 import com.smartcommerce.model.Order;
 import com.smartcommerce.model.OrderItem;
 import com.smartcommerce.model.Product;
@@ -33,7 +43,8 @@ public class OrderServiceImp implements OrderService {
     private final UserDaoInterface userDao;
     private final ProductDaoInterface productDao;
     private final InventoryServiceInterface inventoryService;
-    private final com.smartcommerce.service.serviceInterface.CartItemService cartItemService;
+    private final InventoryDaoInterface inventoryDao;
+    private final CartItemDaoInterface cartItemDao;
 
     // Valid order statuses
     private static final List<String> VALID_STATUSES = List.of(
@@ -46,41 +57,26 @@ public class OrderServiceImp implements OrderService {
                            UserDaoInterface userDao,
                            ProductDaoInterface productDao,
                            InventoryServiceInterface inventoryService,
-                           com.smartcommerce.service.serviceInterface.CartItemService cartItemService) {
+                           InventoryDaoInterface inventoryDao,
+                           CartItemDaoInterface cartItemDao) {
         this.orderDao = orderDao;
         this.orderItemDao = orderItemDao;
         this.userDao = userDao;
         this.productDao = productDao;
         this.inventoryService = inventoryService;
-        this.cartItemService = cartItemService;
+        this.inventoryDao = inventoryDao;
+        this.cartItemDao = cartItemDao;
     }
 
     @Override
     public Order createOrder(Order order, List<OrderItem> orderItems) {
-        // Validate user exists
-        User user = userDao.getUserById(order.getUserId());
-        if (user == null) {
-            throw new ResourceNotFoundException("User", "id", order.getUserId());
-        }
-
-        // Validate order items
-        if (orderItems == null || orderItems.isEmpty()) {
-            throw new BusinessException("Order must contain at least one item");
-        }
+        User user = requireUser(order.getUserId());
+        Map<Integer, Product> products = checkOrderItems(orderItems);
 
-        // Calculate total and validate products
+        // Calculate total
         BigDecimal totalAmount = BigDecimal.ZERO;
         for (OrderItem item : orderItems) {
-            Product product = productDao.getProductById(item.getProductId());
-            if (product == null) {
-                throw new ResourceNotFoundException("Product", "id", item.getProductId());
-            }
-
-            // Check stock availability
-            if (product.getQuantityAvailable() < item.getQuantity()) {
-                throw new BusinessException("Insufficient stock for product: " + product.getProductName() +
-                        ". Available: " + product.getQuantityAvailable() + ", Requested: " + item.getQuantity());
-            }
+            Product product = products.get(item.getProductId());
 
             // Set unit price from product if not provided
             if (item.getUnitPrice() == null) {
@@ -104,23 +100,16 @@ public class OrderServiceImp implements OrderService {
             throw new BusinessException("Failed to create order");
         }
 
-        // Add order items
+        // Add order items and reduce inventory, each in a single batch
         for (OrderItem item : orderItems) {
             item.setOrderId(order.getOrderId());
-            boolean itemCreated = orderItemDao.addOrderItem(item);
-            if (!itemCreated) {
-                throw new BusinessException("Failed to add order item for product ID: " + item.getProductId());
-            }
+            Product product = products.get(item.getProductId());
+            item.setProductName(product.getProductName());
         }
-
-        // Reduce inventory for ordered items
-        for (OrderItem item : orderItems) {
-            boolean stockReduced = inventoryService.reduceStock(item.getProductId(), item.getQuantity());
-            if (!stockReduced) {
-                throw new BusinessException("Failed to reduce stock for product ID: " + item.getProductId() + 
-                        ". Order creation failed.");
-            }
+        if (!orderItemDao.addOrderItems(orderItems)) {
+            throw new BusinessException("Failed to add order items. Order creation failed.");
         }
+        deductStock(orderItems);
 
         // Set order items and return
         order.setOrderItems(orderItems);
@@ -132,14 +121,53 @@ public class OrderServiceImp implements OrderService {
     @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         List<Order> orders = orderDao.getAllOrders();
-        // Load order items for each order
-        for (Order order : orders) {
-            List<OrderItem> items = orderItemDao.getOrderItemsByOrderId(order.getOrderId());
-            order.setOrderItems(items);
-        }
+        loadOrderItems(orders);
         return orders;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getOrdersPage(String cursor, int pageSize, OrderFilterDTO filters,
+                                           boolean includeItems) {
+        if (pageSize <= 0) {
+            throw new BusinessException("Page size must be greater than 0");
+        }
+        if (pageSize > 100) {
+            throw new BusinessException("Page size cannot exceed 100");
+        }
+
+        if (filters != null) {
+            if (filters.status() != null) {
+                String normalizedStatus = filters.status().toLowerCase().trim();
+                if (!VALID_STATUSES.contains(normalizedStatus)) {
+                    throw new BusinessException("Invalid order status: " + filters.status() +
+                            ". Valid statuses are: " + String.join(", ", VALID_STATUSES));
+                }
+                filters = new OrderFilterDTO(normalizedStatus, filters.userId(),
+                        filters.fromDate(), filters.toDate());
+            }
+            if (filters.fromDate() != null && filters.toDate() != null
+                    && filters.fromDate().isAfter(filters.toDate())) {
+                throw new BusinessException("Start date cannot be after end date");
+            }
+        }
+
+        OrderCursor after = cursor != null && !cursor.isBlank() ? OrderCursor.decode(cursor) : null;
+
+        // Fetch one extra row to find out whether another page follows
+        List<Order> orders = orderDao.findOrdersAfter(filters, after, pageSize + 1);
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = new ArrayList<>(orders.subList(0, pageSize));
+            nextCursor = OrderCursor.after(orders.get(pageSize - 1)).encode();
+        }
+
+        if (includeItems) {
+            loadOrderItems(orders);
+        }
+        return new CursorPage<>(orders, nextCursor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Order getOrderById(int orderId) {
@@ -165,11 +193,7 @@ public class OrderServiceImp implements OrderService {
         }
 
         List<Order> orders = orderDao.getOrdersByUserId(userId);
-        // Load order items for each order
-        for (Order order : orders) {
-            List<OrderItem> items = orderItemDao.getOrderItemsByOrderId(order.getOrderId());
-            order.setOrderItems(items);
-        }
+        loadOrderItems(orders);
         return orders;
     }
 
@@ -277,37 +301,86 @@ public class OrderServiceImp implements OrderService {
         return orderItemDao.getOrderItemsByOrderId(orderId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void validateOrder(Order order, List<OrderItem> orderItems) {
+        requireUser(order.getUserId());
+        checkOrderItems(orderItems);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void validateCheckout(int userId) {
+        requireUser(userId);
+
+        List<CartItem> cartItems = cartItemDao.getCartItemsWithDetails(userId);
+        if (cartItems == null || cartItems.isEmpty()) {
+            throw new BusinessException("Cart is empty");
+        }
+
+        // Checked against the ledger only; the holds themselves are confirmed by the checkout
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        Map<Integer, String> productNames = new HashMap<>();
+        for (CartItem cartItem : cartItems) {
+            quantities.merge(cartItem.getProductId(), cartItem.getQuantity(), Integer::sum);
+            productNames.put(cartItem.getProductId(), cartItem.getProductName());
+        }
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            int available = inventoryService.getAvailableQuantity(entry.getKey(), userId);
+            if (available < entry.getValue()) {
+                throw new BusinessException("Insufficient stock for product: " + productNames.get(entry.getKey()) +
+                        ". Available: " + available + ", Requested: " + entry.getValue());
+            }
+        }
+    }
+
     @Override
     public Order checkoutFromCart(int userId) {
+        // Every DAO call below runs on the transaction's connection, so a failure rolls back the whole checkout
+
         // Validate user exists
         User user = userDao.getUserById(userId);
         if (user == null) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
 
-        // Fetch cart items with product details
-        List<com.smartcommerce.model.CartItem> cartItems = cartItemService.getCartItemsWithDetails(userId);
+        // Fetch cart items with product names and prices in one query
+        List<CartItem> cartItems = cartItemDao.getCartItemsWithDetails(userId);
         if (cartItems == null || cartItems.isEmpty()) {
             throw new BusinessException("Cart is empty");
         }
 
-        // Validate stock and calculate total
+        // Build order items and calculate total from the prices read with the cart
+        List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
         BigDecimal totalAmount = BigDecimal.ZERO;
-        for (com.smartcommerce.model.CartItem cartItem : cartItems) {
-            Product product = productDao.getProductById(cartItem.getProductId());
-            if (product == null) {
-                throw new ResourceNotFoundException("Product", "id", cartItem.getProductId());
-            }
+        for (CartItem cartItem : cartItems) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProductId(cartItem.getProductId());
+            orderItem.setProductName(cartItem.getProductName());
+            orderItem.setQuantity(cartItem.getQuantity());
+            orderItem.setUnitPrice(cartItem.getProductPrice());
+            orderItems.add(orderItem);
 
-            if (product.getQuantityAvailable() < cartItem.getQuantity()) {
-                throw new BusinessException("Insufficient stock for product: " + product.getProductName() +
-                        ". Available: " + product.getQuantityAvailable() + ", Requested: " + cartItem.getQuantity());
-            }
+            totalAmount = totalAmount.add(cartItem.getProductPrice().multiply(new BigDecimal(cartItem.getQuantity())));
+        }
 
-            BigDecimal subtotal = product.getPrice().multiply(new BigDecimal(cartItem.getQuantity()));
-            totalAmount = totalAmount.add(subtotal);
+        // Confirm the cart's reservations in memory; a short product fails the checkout before anything is written
+        Map<Integer, Integer> quantities = quantitiesByProduct(orderItems);
+        if (!inventoryService.confirmReservations(userId, quantities)) {
+            for (OrderItem orderItem : orderItems) {
+                int available = inventoryService.getAvailableQuantity(orderItem.getProductId(), userId);
+                int requested = quantities.get(orderItem.getProductId());
+                if (available < requested) {
+                    throw new BusinessException("Insufficient stock for product: " + orderItem.getProductName() +
+                            ". Available: " + available + ", Requested: " + requested);
+                }
+            }
+            throw new BusinessException("Failed to reserve stock. Checkout failed.");
         }
 
+        // Deduct the reserved stock
+        deductStock(orderItems);
+
         // Create Order with CONFIRMED status
         Order order = new Order();
         order.setUserId(userId);
@@ -319,33 +392,122 @@ public class OrderServiceImp implements OrderService {
             throw new BusinessException("Failed to create order");
         }
 
-        // Create OrderItems and deduct inventory
-        for (com.smartcommerce.model.CartItem cartItem : cartItems) {
-            Product product = productDao.getProductById(cartItem.getProductId());
-            
-            OrderItem orderItem = new OrderItem();
+        // Create all OrderItems in one batch
+        for (OrderItem orderItem : orderItems) {
             orderItem.setOrderId(order.getOrderId());
-            orderItem.setProductId(cartItem.getProductId());
-            orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setUnitPrice(product.getPrice());
-
-            boolean itemCreated = orderItemDao.addOrderItem(orderItem);
-            if (!itemCreated) {
-                throw new BusinessException("Failed to add order item for product ID: " + cartItem.getProductId());
-            }
-
-            boolean stockReduced = inventoryService.reduceStock(cartItem.getProductId(), cartItem.getQuantity());
-            if (!stockReduced) {
-                throw new BusinessException("Failed to reduce stock for product ID: " + cartItem.getProductId());
-            }
+        }
+        if (!orderItemDao.addOrderItems(orderItems)) {
+            throw new BusinessException("Failed to add order items");
         }
 
         // Clear cart
-        cartItemService.clearCart(userId);
+        cartItemDao.clearCart(userId);
+
+        // Registered last: in a group commit, an order rolled back to its savepoint must not consume its holds
+        inventoryService.commitReservations(userId, quantities);
 
         // Return order with items
         order.setUserName(user.getName());
-        order.setOrderItems(orderItemDao.getOrderItemsByOrderId(order.getOrderId()));
+        order.setOrderItems(orderItems);
         return order;
     }
+
+    /**
+     * Deducts the ordered quantities with one batch of conditional updates
+     * When a product is short, the current stock levels are read to report it and the
+     * exception rolls back any rows the update already changed
+     */
+    private void deductStock(List<OrderItem> orderItems) {
+        Map<Integer, Integer> quantities = quantitiesByProduct(orderItems);
+        Map<Integer, String> productNames = new HashMap<>();
+        for (OrderItem item : orderItems) {
+            productNames.put(item.getProductId(), item.getProductName());
+        }
+
+        if (inventoryService.reduceStock(quantities)) {
+            return;
+        }
+
+        Map<Integer, Integer> available = inventoryDao.getStockLevels(quantities.keySet());
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            int stock = available.getOrDefault(entry.getKey(), 0);
+            if (stock < entry.getValue()) {
+                throw new BusinessException("Insufficient stock for product: " + productNames.get(entry.getKey()) +
+                        ". Available: " + stock + ", Requested: " + entry.getValue());
+            }
+        }
+        throw new BusinessException("Failed to reduce stock. Order creation failed.");
+    }
+
+    private User requireUser(int userId) {
+        User user = userDao.getUserById(userId);
+        if (user == null) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return user;
+    }
+
+    /**
+     * Checks that the order has items and that every product exists and has enough stock
+     * free of cart reservations
+     *
+     * @return the ordered products, keyed by product ID
+     */
+    private Map<Integer, Product> checkOrderItems(List<OrderItem> orderItems) {
+        if (orderItems == null || orderItems.isEmpty()) {
+            throw new BusinessException("Order must contain at least one item");
+        }
+
+        // Fetch all ordered products in one round trip
+        Map<Integer, Product> products = getProductsById(
+                orderItems.stream().map(OrderItem::getProductId).toList());
+
+        for (OrderItem item : orderItems) {
+            Product product = products.get(item.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", item.getProductId());
+            }
+
+            // Check stock availability, leaving stock reserved by carts alone
+            int available = inventoryService.getAvailableQuantity(item.getProductId());
+            if (available < item.getQuantity()) {
+                throw new BusinessException("Insufficient stock for product: " + product.getProductName() +
+                        ". Available: " + available + ", Requested: " + item.getQuantity());
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Sums the ordered quantity of each product, in order of first appearance
+     */
+    private static Map<Integer, Integer> quantitiesByProduct(List<OrderItem> orderItems) {
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : orderItems) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Loads the items of all given orders with one batched lookup instead of one query per order
+     */
+    private void loadOrderItems(List<Order> orders) {
+        List<Integer> orderIds = orders.stream().map(Order::getOrderId).toList();
+        Map<Integer, List<OrderItem>> itemsByOrder = orderItemDao.getOrderItemsByOrderIds(orderIds);
+        for (Order order : orders) {
+            order.setOrderItems(itemsByOrder.getOrDefault(order.getOrderId(), new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Loads the given products with a single batched lookup, keyed by product ID
+     */
+    private Map<Integer, Product> getProductsById(List<Integer> productIds) {
+        Map<Integer, Product> products = new HashMap<>();
+        for (Product product : productDao.getProductsByIds(productIds)) {
+            products.put(product.getProductId(), product);
+        }
+        return products;
+    }
 }
@@ -1,21 +1,30 @@
 package com.smartcommerce.service.imp;
 
+import com.smartcommerce.cache.CatalogColumns;
+import com.smartcommerce.cache.CatalogSnapshot;
+import com.smartcommerce.cache.ProductPageCache;
 import com.smartcommerce.dao.interfaces.CategoryDaoInterface;
 import com.smartcommerce.dao.interfaces.ProductDaoInterface;
+import com.smartcommerce.dtos.request.ProductCursor;
 import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.dtos.response.CursorPage;
 import com.smartcommerce.exception.BusinessException;
 import com.smartcommerce.exception.ResourceNotFoundException;
 import com.smartcommerce.model.Category;
 import com.smartcommerce.model.Product;
+import com.smartcommerce.search.ProductSearchIndex;
 import com.smartcommerce.service.serviceInterface.ProductService;
+import com.smartcommerce.sorting.ProductSortField;
 import com.smartcommerce.sorting.SortStrategy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.IntPredicate;
 
 /**
  * Service implementation for Product entity
@@ -28,14 +37,17 @@ public class ProductServiceImpl implements ProductService {
     private final ProductDaoInterface productDao;
     private final CategoryDaoInterface categoryDao;
     private final SortStrategy<Product> sortStrategy;
+    private final ProductPageCache pageCache;
 
     // Manual constructor for dependency injection
     public ProductServiceImpl(ProductDaoInterface productDao,
                               CategoryDaoInterface categoryDao,
-                              SortStrategy<Product> sortStrategy) {
+                              SortStrategy<Product> sortStrategy,
+                              ProductPageCache pageCache) {
         this.productDao = productDao;
         this.categoryDao = categoryDao;
         this.sortStrategy = sortStrategy;
+        this.pageCache = pageCache;
     }
 
     @Override
@@ -52,15 +64,9 @@ public class ProductServiceImpl implements ProductService {
         if (!success) {
             throw new BusinessException("Failed to create product");
         }
-//---invalidate cache
-        productDao.invalidateCache();
 
-        List<Product> products = productDao.getAllProducts();
-        Product createdProduct = products.stream()
-                .filter(p -> p.getProductName().equals(product.getProductName())
-                        && p.getCategoryId() == product.getCategoryId())
-                .findFirst()
-                .orElse(null);
+        // addProduct assigns the generated ID and patches it into the catalog cache
+        Product createdProduct = productDao.getProductById(product.getProductId());
 
         if (createdProduct == null) {
             throw new BusinessException("Product created but could not be retrieved");
@@ -95,152 +101,159 @@ public class ProductServiceImpl implements ProductService {
             throw new BusinessException("Page size cannot exceed 100");
         }
 
-        // Get all products
-        List<Product> products = productDao.getAllProducts();
+        ProductSortField sortField = ProductSortField.fromString(sortBy);
+        boolean descending = "DESC".equalsIgnoreCase(sortDirection);
 
-        // Apply filters
-        if (filters != null && filters.hasFilters()) {
-            products = applyFilters(products, filters);
+        // Push filtering, sorting and pagination down to SQL unless the catalog is already in memory
+        CatalogSnapshot snapshot = productDao.getCatalogSnapshot();
+        if (snapshot == null) {
+            return productDao.findProducts(filters, sortField, descending,
+                    (long) pageNumber * pageSize, pageSize);
         }
 
-        // Apply sorting
-        products = applySorting(products, sortBy, sortDirection);
-
-        // Apply pagination
-        return applyPagination(products, pageNumber, pageSize);
-    }
+        // Repeated requests against the same catalog version are served from the page cache
+        ProductPageCache.PageResult page = pageCache.page(filters, sortField, descending,
+                pageNumber, pageSize, snapshot.getVersion(),
+                () -> computePage(snapshot, filters, sortField, descending, pageNumber, pageSize));
 
-    @Override
-    @Transactional(readOnly = true)
-    public long countProductsWithFilters(ProductFilterDTO filters) {
-        List<Product> products = productDao.getAllProducts();
-
-        if (filters != null && filters.hasFilters()) {
-            products = applyFilters(products, filters);
+        List<Product> products = new ArrayList<>(page.productIds().length);
+        for (int productId : page.productIds()) {
+            products.add(snapshot.getProduct(productId));
         }
-
-        return products.size();
+        return products;
     }
 
     /**
-     * Apply filters to product list
+     * Filters, sorts and paginates the cached catalog
+     *
+     * @return the product IDs of the requested page and the total number of matches
      */
-    private List<Product> applyFilters(List<Product> products, ProductFilterDTO filters) {
-        return products.stream()
-                .filter(p -> matchesCategory(p, filters.category()))
-                .filter(p -> matchesPriceRange(p, filters.minPrice(), filters.maxPrice()))
-                .filter(p -> matchesSearchTerm(p, filters.searchTerm()))
-                .filter(p -> matchesStockStatus(p, filters.inStock()))
-                .collect(Collectors.toList());
-    }
+    private ProductPageCache.PageResult computePage(CatalogSnapshot snapshot, ProductFilterDTO filters,
+                                                    ProductSortField sortField, boolean descending,
+                                                    int pageNumber, int pageSize) {
+        // Apply filters over the columnar mirror and materialize only the matching products
+        CatalogColumns columns = snapshot.getColumns();
+        List<Product> products = columns.products(applyFilters(columns, filters));
+        int totalCount = products.size();
+
+        // Apply sorting; only the products up to the end of the requested page need ordering
+        int limit = (int) Math.min((long) (pageNumber + 1) * pageSize, totalCount);
+        products = applySorting(products, sortField, descending, limit);
 
-    /**
-     * Check if product matches category filter
-     */
-    private boolean matchesCategory(Product product, String category) {
-        if (category == null || category.trim().isEmpty()) {
-            return true;
+        // Apply pagination
+        List<Product> pageContent = applyPagination(products, pageNumber, pageSize);
+
+        int[] productIds = new int[pageContent.size()];
+        for (int i = 0; i < productIds.length; i++) {
+            productIds[i] = pageContent.get(i).getProductId();
         }
-        return product.getCategoryName() != null &&
-                product.getCategoryName().equalsIgnoreCase(category.trim());
+        return new ProductPageCache.PageResult(productIds, totalCount);
     }
 
-    /**
-     * Check if product matches price range filter
-     */
-    private boolean matchesPriceRange(Product product, BigDecimal minPrice, BigDecimal maxPrice) {
-        if (product.getPrice() == null) {
-            return false;
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProductsAfterCursor(
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirection,
+            ProductFilterDTO filters) {
 
-        if (minPrice != null && product.getPrice().compareTo(minPrice) < 0) {
-            return false;
+        if (pageSize <= 0) {
+            throw new BusinessException("Page size must be greater than 0");
         }
-
-        if (maxPrice != null && product.getPrice().compareTo(maxPrice) > 0) {
-            return false;
+        if (pageSize > 100) {
+            throw new BusinessException("Page size cannot exceed 100");
         }
 
-        return true;
-    }
+        ProductSortField sortField = ProductSortField.fromString(sortBy);
+        boolean descending = "DESC".equalsIgnoreCase(sortDirection);
+        if (!sortField.supportsCursor()) {
+            throw new BusinessException("Cursor pagination is not supported for sort field: " + sortBy);
+        }
 
-    /**
-     * Check if product matches search term (name or description)
-     */
-    private boolean matchesSearchTerm(Product product, String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return true;
+        ProductCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = ProductCursor.decode(cursor);
+            if (after.sortField() != sortField || after.descending() != descending) {
+                throw new BusinessException("Cursor does not match the requested sort field and direction");
+            }
         }
 
-        String term = searchTerm.toLowerCase().trim();
-        boolean matchesName = product.getProductName() != null &&
-                product.getProductName().toLowerCase().contains(term);
-        boolean matchesDescription = product.getDescription() != null &&
-                product.getDescription().toLowerCase().contains(term);
+        // Fetch one extra row to find out whether another page follows
+        List<Product> products = productDao.findProductsAfter(filters, sortField, descending, after, pageSize + 1);
+        if (products.size() <= pageSize) {
+            return new CursorPage<>(products, null);
+        }
 
-        return matchesName || matchesDescription;
+        List<Product> page = products.subList(0, pageSize);
+        String nextCursor = ProductCursor.after(page.get(pageSize - 1), sortField, descending).encode();
+        return new CursorPage<>(page, nextCursor);
     }
 
-    /**
-     * Check if product matches stock status filter
-     */
-    private boolean matchesStockStatus(Product product, Boolean inStock) {
-        if (inStock == null) {
-            return true;
+    @Override
+    @Transactional(readOnly = true)
+    public long countProductsWithFilters(ProductFilterDTO filters) {
+        CatalogSnapshot snapshot = productDao.getCatalogSnapshot();
+        if (snapshot == null) {
+            return productDao.countProducts(filters);
+        }
+
+        CatalogColumns columns = snapshot.getColumns();
+        if (filters != null && filters.minPrice() == null && filters.maxPrice() == null
+                && !hasText(filters.searchTerm())) {
+            // Category and stock filters alone are answered by the bitmap cardinality
+            return columns.count(filters.category(), filters.inStock());
         }
 
-        boolean productInStock = product.getQuantityAvailable() > 0;
-        return productInStock == inStock;
+        // Usually already recorded by the page request for the same filters
+        return pageCache.count(filters, snapshot.getVersion(),
+                () -> applyFilters(columns, filters).length);
     }
 
     /**
-     * Apply sorting to product list using the injected sort strategy (Merge Sort)
+     * Apply filters over the catalog columns
+     *
+     * @return selection vector of matching catalog positions
      */
-    private List<Product> applySorting(List<Product> products, String sortBy, String sortDirection) {
-        if (sortBy == null || sortBy.trim().isEmpty()) {
-            sortBy = "productId"; // Default sort
+    private int[] applyFilters(CatalogColumns columns, ProductFilterDTO filters) {
+        if (filters == null || !filters.hasFilters()) {
+            return columns.all();
         }
 
-        if (sortDirection == null || sortDirection.trim().isEmpty()) {
-            sortDirection = "ASC"; // Default direction
+        IntPredicate searchFilter = null;
+        if (hasText(filters.searchTerm())) {
+            // Resolve the search term once through the inverted index instead of scanning every description
+            Set<Integer> searchMatches = productDao.searchProductIds(filters.searchTerm());
+            String term = filters.searchTerm();
+            searchFilter = searchMatches != null
+                    ? position -> searchMatches.contains(columns.productId(position))
+                    : position -> ProductSearchIndex.matches(columns.product(position), term);
         }
 
-        Comparator<Product> comparator = getComparator(sortBy);
-
-        if ("DESC".equalsIgnoreCase(sortDirection)) {
-            comparator = comparator.reversed();
-        }
+        return columns.select(filters.category(), filters.minPrice(), filters.maxPrice(),
+                filters.inStock(), searchFilter);
+    }
 
-        // Use the injected sort strategy (Merge Sort) for sorting
-        return sortStrategy.sort(products, comparator);
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
     }
 
     /**
-     * Get comparator based on sort field
+     * Apply sorting to product list using the configured sort strategy
+     *
+     * @param limit number of leading products the caller needs in order
      */
-    private Comparator<Product> getComparator(String sortBy) {
-        return switch (sortBy.toLowerCase()) {
-            case "productname", "name" -> Comparator.comparing(
-                    p -> p.getProductName() != null ? p.getProductName().toLowerCase() : "",
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            );
-            case "price" -> Comparator.comparing(
-                    Product::getPrice,
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            );
-            case "categoryname", "category" -> Comparator.comparing(
-                    p -> p.getCategoryName() != null ? p.getCategoryName().toLowerCase() : "",
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            );
-            case "quantity", "quantityavailable" -> Comparator.comparingInt(Product::getQuantityAvailable);
-            case "createdat" -> Comparator.comparing(
-                    Product::getCreatedAt,
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            );
-            case "productid", "id" -> Comparator.comparingInt(Product::getProductId);
-            default -> throw new BusinessException("Invalid sort field: " + sortBy +
-                    ". Valid fields: productName, price, categoryName, quantity, createdAt, productId");
-        };
+    private List<Product> applySorting(List<Product> products, ProductSortField sortField, boolean descending,
+                                       int limit) {
+        Comparator<Product> comparator = sortField.getComparator();
+
+        if (descending) {
+            comparator = comparator.reversed();
+        }
+
+        // The injected strategy (selected by sorting.strategy) picks the algorithm per call when adaptive
+        return sortStrategy.sortTopK(products, comparator, limit);
     }
 
     /**
@@ -260,6 +273,19 @@ public class ProductServiceImpl implements ProductService {
         return products.subList(startIndex, endIndex);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(List<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new BusinessException("At least one product ID is required");
+        }
+        if (productIds.size() > 100) {
+            throw new BusinessException("Cannot fetch more than 100 products at once");
+        }
+
+        return productDao.getProductsByIds(productIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Product getProductById(int productId) {
@@ -290,6 +316,25 @@ public class ProductServiceImpl implements ProductService {
         return productDao.searchProducts(searchTerm);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String searchTerm, int pageNumber, int pageSize) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            throw new BusinessException("Search term cannot be empty");
+        }
+        if (pageNumber < 0) {
+            throw new BusinessException("Page number cannot be negative");
+        }
+        if (pageSize <= 0) {
+            throw new BusinessException("Page size must be greater than 0");
+        }
+        if (pageSize > 100) {
+            throw new BusinessException("Page size cannot exceed 100");
+        }
+
+        return productDao.searchProducts(searchTerm, (long) pageNumber * pageSize, pageSize);
+    }
+
     @Override
     public Product updateProduct(int productId, Product productDetails) {
         Product existingProduct = productDao.getProductById(productId);
@@ -320,8 +365,6 @@ public class ProductServiceImpl implements ProductService {
             throw new BusinessException("Failed to update product");
         }
 
-        productDao.invalidateCache();
-
         return getProductById(productId);
     }
 
@@ -339,7 +382,6 @@ public class ProductServiceImpl implements ProductService {
             throw new BusinessException("Failed to update product quantity");
         }
 
-        productDao.invalidateCache();
         return getProductById(productId);
     }
 
@@ -354,8 +396,23 @@ public class ProductServiceImpl implements ProductService {
         if (!success) {
             throw new BusinessException("Failed to delete product");
         }
+    }
 
-        productDao.invalidateCache();
+    @Override
+    @Transactional(readOnly = true)
+    public long getCatalogVersion() {
+        return productDao.getCatalogVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getProductVersion(int productId) {
+        return productDao.getProductVersion(productId);
+    }
+
+    @Override
+    public boolean isCatalogCached() {
+        return productDao.getCatalogSnapshot() != null;
     }
 
     @Override
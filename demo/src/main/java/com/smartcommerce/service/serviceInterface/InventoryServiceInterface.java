@@ -1,6 +1,7 @@
 package com.smartcommerce.service.serviceInterface;
 
 import java.util.List;
+import java.util.Map;
 
 import com.smartcommerce.exception.BusinessException;
 import com.smartcommerce.exception.ResourceNotFoundException;
@@ -48,7 +49,7 @@ public interface InventoryServiceInterface {
     List<Inventory> getLowStockItems(int threshold);
 
     /**
-     * Checks if a product is in stock (quantity > 0)
+     * Checks if a product is in stock (quantity not held by carts > 0)
      *
      * @param productId the product ID
      * @return true if in stock, false otherwise
@@ -56,7 +57,7 @@ public interface InventoryServiceInterface {
     boolean isInStock(int productId);
 
     /**
-     * Checks if sufficient quantity is available for a product
+     * Checks if sufficient quantity not held by carts is available for a product
      *
      * @param productId the product ID
      * @param requestedQuantity the quantity needed
@@ -64,6 +65,76 @@ public interface InventoryServiceInterface {
      */
     boolean hasEnoughStock(int productId, int requestedQuantity);
 
+    /**
+     * Gets the stock of a product that is not held by any cart, without querying the database
+     *
+     * @param productId the product ID
+     * @return quantity available minus quantity reserved
+     */
+    int getAvailableQuantity(int productId);
+
+    /**
+     * Gets the stock of a product available to a user: stock not held by other carts
+     *
+     * @param productId the product ID
+     * @param userId the user whose own reservation counts as available
+     * @return quantity available minus quantity reserved by other users
+     */
+    int getAvailableQuantity(int productId, int userId);
+
+    /**
+     * Reserves stock for a cart line, replacing the user's previous reservation of the
+     * product and restarting its time limit
+     *
+     * @param userId the user ID
+     * @param productId the product ID
+     * @param quantity the total quantity to hold
+     * @return false if not enough stock is free of other reservations
+     */
+    boolean reserve(int userId, int productId, int quantity);
+
+    /**
+     * Releases a user's reservation of a product
+     *
+     * @param userId the user ID
+     * @param productId the product ID
+     */
+    void releaseReservation(int userId, int productId);
+
+    /**
+     * Releases all of a user's reservations
+     *
+     * @param userId the user ID
+     */
+    void releaseReservations(int userId);
+
+    /**
+     * Confirms a user's reservations at checkout, reserving any missing quantity from free stock
+     * Holds topped up this way are put back if the surrounding transaction rolls back
+     *
+     * @param userId the user ID
+     * @param quantities the quantity ordered, keyed by product ID
+     * @return false if some product cannot be fully reserved
+     */
+    boolean confirmReservations(int userId, Map<Integer, Integer> quantities);
+
+    /**
+     * Releases confirmed reservations when the surrounding transaction commits
+     * Call once the order is written and its stock reduced, so an order rolled back to a
+     * savepoint never consumes them and the sold units are not subtracted a second time
+     *
+     * @param userId the user ID
+     * @param quantities the quantity ordered, keyed by product ID
+     */
+    void commitReservations(int userId, Map<Integer, Integer> quantities);
+
+    /**
+     * Gets reservation ledger statistics
+     *
+     * @return holds, reserved units and expiry counters
+     */
+    String getReservationStats();
+
     /**
      * Reduces stock for a product (for order processing)
      *
@@ -75,6 +146,15 @@ public interface InventoryServiceInterface {
      */
     boolean reduceStock(int productId, int quantity);
 
+    /**
+     * Reduces stock for several products with one batch of conditional updates (for checkout)
+     * Inside a transaction, cached stock levels are refreshed only after commit
+     *
+     * @param quantities the quantity to reduce, keyed by product ID
+     * @return true if every product had enough stock; otherwise the caller must roll back
+     */
+    boolean reduceStock(Map<Integer, Integer> quantities);
+
     /**
      * Adds stock to a product (for restocking)
      *
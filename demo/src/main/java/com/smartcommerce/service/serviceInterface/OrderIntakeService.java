@@ -0,0 +1,65 @@
+package com.smartcommerce.service.serviceInterface;
+
+import java.util.List;
+
+import com.smartcommerce.dtos.response.OrderIntakeResponse;
+import com.smartcommerce.exception.BusinessException;
+import com.smartcommerce.exception.ResourceNotFoundException;
+import com.smartcommerce.exception.TooManyRequestsException;
+import com.smartcommerce.model.Order;
+import com.smartcommerce.model.OrderItem;
+
+/**
+ * Service interface for asynchronous order intake
+ * Accepts orders into a bounded queue that is worked off in the background
+ */
+public interface OrderIntakeService {
+
+    /**
+     * Checks whether asynchronous intake is enabled (order.intake.enabled)
+     *
+     * @return true if orders should be submitted instead of processed synchronously
+     */
+    boolean isEnabled();
+
+    /**
+     * Queues an order for creation
+     *
+     * @param order the order to create
+     * @param orderItems the items in the order
+     * @return the ticket, in status QUEUED
+     * @throws ResourceNotFoundException if the user or a product does not exist
+     * @throws BusinessException if the order has no items or a product is short
+     * @throws TooManyRequestsException if the queue is full
+     */
+    OrderIntakeResponse submitOrder(Order order, List<OrderItem> orderItems);
+
+    /**
+     * Queues a checkout of the user's cart
+     * While a checkout of the same user is queued or running, its ticket is returned instead
+     *
+     * @param userId the user ID
+     * @return the ticket of the checkout
+     * @throws ResourceNotFoundException if the user does not exist
+     * @throws BusinessException if the cart is empty or a product is short
+     * @throws TooManyRequestsException if the queue is full
+     */
+    OrderIntakeResponse submitCheckout(int userId);
+
+    /**
+     * Retrieves the current status of a ticket
+     *
+     * @param ticketId the ticket ID
+     * @param userId the user who submitted the order
+     * @return the ticket status
+     * @throws ResourceNotFoundException if the ticket does not exist, has expired or belongs to another user
+     */
+    OrderIntakeResponse getTicket(String ticketId, int userId);
+
+    /**
+     * Gets intake queue statistics
+     *
+     * @return queue depth, throughput counters and wait times
+     */
+    String getStats();
+}
@@ -2,6 +2,8 @@ package com.smartcommerce.service.serviceInterface;
 
 import java.util.List;
 
+import com.smartcommerce.dtos.request.OrderFilterDTO;
+import com.smartcommerce.dtos.response.CursorPage;
 import com.smartcommerce.exception.BusinessException;
 import com.smartcommerce.exception.ResourceNotFoundException;
 import com.smartcommerce.model.Order;
@@ -24,6 +26,17 @@ public interface OrderService {
      */
     Order createOrder(Order order, List<OrderItem> orderItems);
 
+    /**
+     * Runs the cheap checks of createOrder without writing anything, so a queued order
+     * can be refused before it is accepted
+     *
+     * @param order Order to check
+     * @param orderItems Items to check
+     * @throws ResourceNotFoundException if user or product not found
+     * @throws BusinessException if the order has no items or a product is short
+     */
+    void validateOrder(Order order, List<OrderItem> orderItems);
+
     /**
      * Retrieves all orders
      *
@@ -31,6 +44,18 @@ public interface OrderService {
      */
     List<Order> getAllOrders();
 
+    /**
+     * Retrieves orders with keyset (cursor) pagination and filtering, most recent first
+     *
+     * @param cursor       Opaque cursor from a previous page, or null/empty for the first page
+     * @param pageSize     Number of orders per page
+     * @param filters      Filter criteria (status, user, date range), may be null
+     * @param includeItems Whether to load the items of the orders on the page
+     * @return Page of orders with the cursor for the next page
+     * @throws BusinessException if the page size, status, date range or cursor is invalid
+     */
+    CursorPage<Order> getOrdersPage(String cursor, int pageSize, OrderFilterDTO filters, boolean includeItems);
+
     /**
      * Retrieves an order by ID
      *
@@ -98,4 +123,14 @@ public interface OrderService {
      * @throws BusinessException if insufficient stock or order creation fails
      */
     Order checkoutFromCart(int userId);
+
+    /**
+     * Runs the cheap checks of checkoutFromCart without writing anything or placing holds,
+     * so a queued checkout can be refused before it is accepted
+     *
+     * @param userId User ID
+     * @throws ResourceNotFoundException if user not found
+     * @throws BusinessException if the cart is empty or a product is short
+     */
+    void validateCheckout(int userId);
 }
@@ -3,6 +3,7 @@ package com.smartcommerce.service.serviceInterface;
 import java.util.List;
 
 import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.dtos.response.CursorPage;
 import com.smartcommerce.exception.BusinessException;
 import com.smartcommerce.exception.ResourceNotFoundException;
 import com.smartcommerce.model.Product;
@@ -48,6 +49,25 @@ public interface ProductService {
             ProductFilterDTO filters
     );
 
+    /**
+     * Retrieves products with keyset (cursor) pagination, sorting, and filtering
+     *
+     * @param cursor        Opaque cursor from a previous page, or null/empty for the first page
+     * @param pageSize      Number of items per page
+     * @param sortBy        Field to sort by (any sort field except categoryName and quantity)
+     * @param sortDirection Sort direction (ASC or DESC)
+     * @param filters       Filter criteria
+     * @return Page of products with the cursor for the next page
+     * @throws BusinessException if the cursor is invalid or does not match the requested sort
+     */
+    CursorPage<Product> getProductsAfterCursor(
+            String cursor,
+            int pageSize,
+            String sortBy,
+            String sortDirection,
+            ProductFilterDTO filters
+    );
+
     /**
      * Counts total products matching the filter criteria
      *
@@ -74,6 +94,15 @@ public interface ProductService {
      */
     List<Product> getProductsByCategory(String categoryName);
 
+    /**
+     * Retrieves several products by ID in one round trip
+     *
+     * @param productIds Product IDs (at most 100)
+     * @return Products found, in request order; unknown IDs are skipped
+     * @throws BusinessException if no IDs or too many IDs are given
+     */
+    List<Product> getProductsByIds(List<Integer> productIds);
+
     /**
      * Searches for products by name or description
      *
@@ -83,6 +112,17 @@ public interface ProductService {
      */
     List<Product> searchProducts(String searchTerm);
 
+    /**
+     * Retrieves one page of product search results
+     *
+     * @param searchTerm Search term
+     * @param pageNumber Page number (0-indexed)
+     * @param pageSize   Number of items per page
+     * @return List of matching products on the requested page
+     * @throws BusinessException if the search term or pagination parameters are invalid
+     */
+    List<Product> searchProducts(String searchTerm, int pageNumber, int pageSize);
+
     /**
      * Updates an existing product
      *
@@ -114,6 +154,32 @@ public interface ProductService {
      */
     void deleteProduct(int productId);
 
+    /**
+     * Returns the current catalog version
+     * Changes whenever any product may have changed; used to derive ETags for product listings
+     *
+     * @return The catalog version
+     */
+    long getCatalogVersion();
+
+    /**
+     * Returns the version at which a product last changed
+     * Used to derive the ETag of a single product
+     *
+     * @param productId Product ID
+     * @return The product version
+     */
+    long getProductVersion(int productId);
+
+    /**
+     * Whether reads are currently answered from the cached catalog
+     * Catalog and product versions only describe the cached catalog; data read from the
+     * database while it is cold may change outside this application without a version bump
+     *
+     * @return true if a valid catalog snapshot is cached
+     */
+    boolean isCatalogCached();
+
     /**
      * Invalidates the product cache
      */
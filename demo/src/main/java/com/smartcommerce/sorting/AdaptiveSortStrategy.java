@@ -0,0 +1,157 @@
+package com.smartcommerce.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive implementation of the SortStrategy interface.
+ *
+ * Picks an algorithm per call from the input size, the comparator's key type,
+ * the requested prefix and how presorted the input already is:
+ * - already sorted: the prefix is copied without sorting
+ * - nearly sorted (few descents): ParallelMergeSortStrategy, whose merges are
+ *   skipped when two runs are already in order
+ * - small prefix of a large input: a bounded heap (KeyExtractingSortStrategy for
+ *   keyed comparators, TopKSortStrategy otherwise)
+ * - integral keys: RadixSortStrategy
+ * - text keys: KeyExtractingSortStrategy
+ * - any other comparator: ParallelMergeSortStrategy
+ *
+ * Presortedness is measured with a few sampled neighbour comparisons first; only
+ * inputs that look ordered are scanned in full, so random input pays for at most
+ * SAMPLE_PAIRS extra comparisons.
+ *
+ * Every call is recorded in SortMetrics under the chosen algorithm. All delegates
+ * are stable, so the result does not depend on which one was picked.
+ *
+ * @param <T> the type of elements to be sorted
+ */
+@Component
+public class AdaptiveSortStrategy<T> implements SortStrategy<T> {
+
+    static final String ALREADY_SORTED = "alreadySorted";
+    static final String NEARLY_SORTED = "nearlySorted";
+    static final String TOP_K = "topK";
+    static final String RADIX = "radix";
+    static final String KEY_EXTRACTING = "keyExtracting";
+    static final String PARALLEL_MERGE = "parallelMerge";
+
+    private static final int SAMPLE_PAIRS = 32;
+    // Descents per element below which an input counts as nearly sorted
+    private static final int NEARLY_SORTED_RATIO = 64;
+    // The heap is used when the prefix is at most this fraction of the input
+    private static final int TOP_K_RATIO = 16;
+
+    private final SortMetrics metrics = new SortMetrics();
+    private final ParallelMergeSortStrategy<T> parallelMergeSort = new ParallelMergeSortStrategy<>();
+    private final TopKSortStrategy<T> topKSort = new TopKSortStrategy<>();
+    private final KeyExtractingSortStrategy<T> keyExtractingSort = new KeyExtractingSortStrategy<>();
+    private final RadixSortStrategy<T> radixSort = new RadixSortStrategy<>();
+
+    @Override
+    public List<T> sort(List<T> items, Comparator<T> comparator) {
+        if (items == null) {
+            return new ArrayList<>();
+        }
+        return sortTopK(items, comparator, items.size());
+    }
+
+    @Override
+    public List<T> sortTopK(List<T> items, Comparator<T> comparator, int limit) {
+        if (items == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        long startTime = System.nanoTime();
+        int size = items.size();
+        int count = Math.min(limit, size);
+        String algorithm = choose(items, comparator, count);
+
+        List<T> result = switch (algorithm) {
+            case ALREADY_SORTED -> new ArrayList<>(items.subList(0, count));
+            case NEARLY_SORTED, PARALLEL_MERGE -> parallelMergeSort.sortTopK(items, comparator, count);
+            case TOP_K -> isKeyed(comparator)
+                    ? keyExtractingSort.sortTopK(items, comparator, count)
+                    : topKSort.sortTopK(items, comparator, count);
+            case RADIX -> radixSort.sortTopK(items, comparator, count);
+            default -> keyExtractingSort.sortTopK(items, comparator, count);
+        };
+
+        metrics.record(algorithm, System.nanoTime() - startTime);
+        return result;
+    }
+
+    /**
+     * Chooses the algorithm for one call
+     *
+     * @param count number of leading items required, at most the input size
+     */
+    String choose(List<T> items, Comparator<T> comparator, int count) {
+        int size = items.size();
+        long descents = countDescents(items, comparator, size / NEARLY_SORTED_RATIO);
+        if (descents == 0) {
+            return ALREADY_SORTED;
+        }
+        if (descents <= size / NEARLY_SORTED_RATIO) {
+            return NEARLY_SORTED;
+        }
+        if (count <= size / TOP_K_RATIO) {
+            return TOP_K;
+        }
+        if (comparator instanceof LongKeyComparator<?> && size >= RadixSortStrategy.MIN_RADIX_SIZE) {
+            return RADIX;
+        }
+        return isKeyed(comparator) ? KEY_EXTRACTING : PARALLEL_MERGE;
+    }
+
+    /**
+     * Counts neighbouring pairs that are out of order, giving up (and returning a
+     * value above the limit) as soon as the count exceeds the limit or a sample of
+     * spread-out pairs already shows the input is not close to sorted
+     */
+    long countDescents(List<T> items, Comparator<T> comparator, long limit) {
+        int size = items.size();
+        if (size < 2) {
+            return 0;
+        }
+
+        if (size > SAMPLE_PAIRS * 2) {
+            // A nearly sorted input has under 2% descents, so a quarter of the sample is decisive
+            int step = (size - 1) / SAMPLE_PAIRS;
+            int sampledDescents = 0;
+            for (int i = 0; i + 1 < size; i += step) {
+                if (comparator.compare(items.get(i), items.get(i + 1)) > 0
+                        && ++sampledDescents > SAMPLE_PAIRS / 4) {
+                    return Long.MAX_VALUE;
+                }
+            }
+        }
+
+        long descents = 0;
+        T previous = items.get(0);
+        for (int i = 1; i < size; i++) {
+            T current = items.get(i);
+            if (comparator.compare(previous, current) > 0 && ++descents > limit) {
+                return descents;
+            }
+            previous = current;
+        }
+        return descents;
+    }
+
+    private static boolean isKeyed(Comparator<?> comparator) {
+        return comparator instanceof LongKeyComparator<?> || comparator instanceof KeyedComparator<?, ?>;
+    }
+
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Adaptive Sort";
+    }
+}
@@ -0,0 +1,215 @@
+package com.smartcommerce.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.smartcommerce.utils.PerformanceMonitor;
+
+/**
+ * Key-extracting sort implementation of the SortStrategy interface.
+ *
+ * Time Complexity: O(n) key extractions plus O(n log n) key comparisons,
+ *                  or O(n log k) comparisons when only the first k items are needed
+ * Space Complexity: O(n) for the keys and the index arrays
+ *
+ * When the comparator is a KeyedComparator or LongKeyComparator (as every
+ * ProductSortField comparator is), each element's sort key is extracted once into
+ * an array parallel to the input. The sort then orders int indices by comparing
+ * the precomputed keys: primitives for long keys, and already normalized strings
+ * for text keys. Nothing is lowercased or unboxed during comparisons.
+ *
+ * Ties are broken by input position, so the result is stable. Any other
+ * comparator is handed to ParallelMergeSortStrategy unchanged.
+ *
+ * @param <T> the type of elements to be sorted
+ */
+@Component
+public class KeyExtractingSortStrategy<T> implements SortStrategy<T> {
+
+    private static final int INSERTION_SORT_CUTOFF = 32;
+
+    private final PerformanceMonitor performanceMonitor = PerformanceMonitor.getInstance();
+    private final ParallelMergeSortStrategy<T> fallback = new ParallelMergeSortStrategy<>();
+
+    /**
+     * Strict total order over input positions
+     */
+    @FunctionalInterface
+    interface IndexOrder {
+        int compare(int a, int b);
+    }
+
+    @Override
+    public List<T> sort(List<T> items, Comparator<T> comparator) {
+        if (items == null) {
+            return new ArrayList<>();
+        }
+        return sortTopK(items, comparator, items.size());
+    }
+
+    @Override
+    public List<T> sortTopK(List<T> items, Comparator<T> comparator, int limit) {
+        if (items == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (!(comparator instanceof LongKeyComparator<?>) && !(comparator instanceof KeyedComparator<?, ?>)) {
+            return fallback.sortTopK(items, comparator, limit);
+        }
+
+        long startTime = performanceMonitor.startTimer();
+
+        Object[] array = items.toArray();
+        int count = Math.min(limit, array.length);
+        IndexOrder order = extractKeys(array, comparator);
+
+        // A bounded heap pays off only while the requested prefix is small
+        int[] indices = count <= array.length >>> 2
+                ? topK(order, array.length, count)
+                : sortAll(order, array.length);
+
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            @SuppressWarnings("unchecked")
+            T element = (T) array[indices[i]];
+            result.add(element);
+        }
+
+        performanceMonitor.recordQueryTime("KeyExtractingSort", startTime);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndexOrder extractKeys(Object[] array, Comparator<T> comparator) {
+        if (comparator instanceof LongKeyComparator<?>) {
+            LongKeyComparator<T> keyed = (LongKeyComparator<T>) comparator;
+            long[] keys = new long[array.length];
+            for (int i = 0; i < array.length; i++) {
+                keys[i] = keyed.key((T) array[i]);
+            }
+            return (a, b) -> {
+                int cmp = keyed.compareKeys(keys[a], keys[b]);
+                return cmp != 0 ? cmp : Integer.compare(a, b);
+            };
+        }
+        return extractObjectKeys(array, (KeyedComparator<T, ?>) comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, K extends Comparable<? super K>> IndexOrder extractObjectKeys(
+            Object[] array, KeyedComparator<T, K> keyed) {
+        Object[] keys = new Object[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = keyed.key((T) array[i]);
+        }
+        return (a, b) -> {
+            int cmp = keyed.compareKeys((K) keys[a], (K) keys[b]);
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        };
+    }
+
+    /**
+     * Sorts all positions 0..size-1 with a merge sort over int indices
+     */
+    static int[] sortAll(IndexOrder order, int size) {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        mergeSort(indices, new int[size], 0, size, order);
+        return indices;
+    }
+
+    private static void mergeSort(int[] indices, int[] buffer, int from, int to, IndexOrder order) {
+        if (to - from <= INSERTION_SORT_CUTOFF) {
+            for (int i = from + 1; i < to; i++) {
+                int current = indices[i];
+                int j = i - 1;
+                while (j >= from && order.compare(indices[j], current) > 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = current;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(indices, buffer, from, middle, order);
+        mergeSort(indices, buffer, middle, to, order);
+        if (order.compare(indices[middle - 1], indices[middle]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(indices, from, buffer, from, middle - from);
+        int i = from;
+        int j = middle;
+        int k = from;
+        while (i < middle && j < to) {
+            indices[k++] = order.compare(indices[j], buffer[i]) < 0 ? indices[j++] : buffer[i++];
+        }
+        System.arraycopy(buffer, i, indices, k, middle - i);
+    }
+
+    /**
+     * Returns the first k positions in order, using a bounded max-heap of size k
+     */
+    static int[] topK(IndexOrder order, int size, int k) {
+        int[] heap = new int[k];
+        int heapSize = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (heapSize < k) {
+                // Sift up
+                int index = heapSize++;
+                while (index > 0) {
+                    int parent = (index - 1) >>> 1;
+                    if (order.compare(i, heap[parent]) <= 0) {
+                        break;
+                    }
+                    heap[index] = heap[parent];
+                    index = parent;
+                }
+                heap[index] = i;
+            } else if (order.compare(i, heap[0]) < 0) {
+                heap[0] = i;
+                siftDown(heap, heapSize, order);
+            }
+        }
+
+        // Pop the largest remaining position into the last free slot
+        int[] result = new int[heapSize];
+        for (int last = heapSize - 1; last >= 0; last--) {
+            result[last] = heap[0];
+            heap[0] = heap[last];
+            siftDown(heap, last, order);
+        }
+        return result;
+    }
+
+    private static void siftDown(int[] heap, int size, IndexOrder order) {
+        int item = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && order.compare(heap[right], heap[child]) > 0) {
+                child = right;
+            }
+            if (order.compare(heap[child], item) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Key-Extracting Index Sort";
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartcommerce.sorting;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Comparator that orders elements by a sort key extracted from each element.
+ *
+ * Used as a plain Comparator it extracts both keys on every comparison. Sort
+ * strategies that recognize it (see KeyExtractingSortStrategy) instead extract
+ * each element's key once and compare the precomputed keys.
+ *
+ * @param <T> the type of elements compared
+ * @param <K> the type of the sort key
+ */
+public final class KeyedComparator<T, K extends Comparable<? super K>> implements Comparator<T> {
+
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final boolean descending;
+
+    private KeyedComparator(Function<? super T, ? extends K> keyExtractor, boolean descending) {
+        this.keyExtractor = keyExtractor;
+        this.descending = descending;
+    }
+
+    /**
+     * Ascending comparator on the extracted key; the extractor must not return null
+     */
+    public static <T, K extends Comparable<? super K>> KeyedComparator<T, K> comparing(
+            Function<? super T, ? extends K> keyExtractor) {
+        return new KeyedComparator<>(keyExtractor, false);
+    }
+
+    public K key(T item) {
+        return keyExtractor.apply(item);
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Compares two precomputed keys in this comparator's direction
+     */
+    public int compareKeys(K a, K b) {
+        return descending ? b.compareTo(a) : a.compareTo(b);
+    }
+
+    @Override
+    public int compare(T a, T b) {
+        return compareKeys(key(a), key(b));
+    }
+
+    /**
+     * Keeps the key extractor, so reversed comparators can still be sorted by key
+     */
+    @Override
+    public KeyedComparator<T, K> reversed() {
+        return new KeyedComparator<>(keyExtractor, !descending);
+    }
+}
@@ -0,0 +1,59 @@
+package com.smartcommerce.sorting;
+
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Comparator that orders elements by a primitive long key extracted from each
+ * element (price in cents, epoch millis, IDs and quantities).
+ *
+ * Like KeyedComparator it works as a plain Comparator, and lets sort strategies
+ * extract every key once into a long[] and compare primitives.
+ *
+ * @param <T> the type of elements compared
+ */
+public final class LongKeyComparator<T> implements Comparator<T> {
+
+    private final ToLongFunction<? super T> keyExtractor;
+    private final boolean descending;
+
+    private LongKeyComparator(ToLongFunction<? super T> keyExtractor, boolean descending) {
+        this.keyExtractor = keyExtractor;
+        this.descending = descending;
+    }
+
+    /**
+     * Ascending comparator on the extracted key
+     */
+    public static <T> LongKeyComparator<T> comparingLong(ToLongFunction<? super T> keyExtractor) {
+        return new LongKeyComparator<>(keyExtractor, false);
+    }
+
+    public long key(T item) {
+        return keyExtractor.applyAsLong(item);
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Compares two precomputed keys in this comparator's direction
+     */
+    public int compareKeys(long a, long b) {
+        return descending ? Long.compare(b, a) : Long.compare(a, b);
+    }
+
+    @Override
+    public int compare(T a, T b) {
+        return compareKeys(key(a), key(b));
+    }
+
+    /**
+     * Keeps the key extractor, so reversed comparators can still be sorted by key
+     */
+    @Override
+    public LongKeyComparator<T> reversed() {
+        return new LongKeyComparator<>(keyExtractor, !descending);
+    }
+}
@@ -0,0 +1,165 @@
+package com.smartcommerce.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.stereotype.Component;
+
+import com.smartcommerce.utils.PerformanceMonitor;
+
+/**
+ * Parallel Merge Sort implementation of the SortStrategy interface.
+ *
+ * Time Complexity: O(n log n) in all cases
+ * Space Complexity: O(n) for a single auxiliary buffer
+ *
+ * Differences from MergeSortStrategy:
+ * - Sorts a plain Object[] copy of the input and merges through one buffer
+ *   allocated once per sort, instead of allocating temporary lists per merge
+ * - Runs of up to INSERTION_SORT_CUTOFF elements are sorted with insertion sort
+ * - Merges are skipped when the two halves are already in order
+ * - Ranges larger than PARALLEL_THRESHOLD are split into ForkJoinPool tasks,
+ *   so large listings use all cores; smaller inputs are sorted on the caller's thread
+ *
+ * The sort is stable: equal elements keep their relative order.
+ *
+ * @param <T> the type of elements to be sorted
+ */
+@Component
+public class ParallelMergeSortStrategy<T> implements SortStrategy<T> {
+
+    static final int INSERTION_SORT_CUTOFF = 32;
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    private final PerformanceMonitor performanceMonitor = PerformanceMonitor.getInstance();
+
+    @Override
+    public List<T> sort(List<T> items, Comparator<T> comparator) {
+        long startTime = performanceMonitor.startTimer();
+
+        if (items == null || items.size() <= 1) {
+            List<T> result = items == null ? new ArrayList<>() : new ArrayList<>(items);
+            performanceMonitor.recordQueryTime("ParallelMergeSort", startTime);
+            return result;
+        }
+
+        Object[] array = items.toArray();
+        Object[] buffer = new Object[array.length];
+        @SuppressWarnings("unchecked")
+        Comparator<Object> order = (Comparator<Object>) comparator;
+
+        if (array.length > PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new SortTask(array, buffer, 0, array.length, order));
+        } else {
+            mergeSort(array, buffer, 0, array.length, order);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> result = new ArrayList<>((List<T>) Arrays.asList(array));
+        performanceMonitor.recordQueryTime("ParallelMergeSort", startTime);
+        return result;
+    }
+
+    /**
+     * Sorts array[from..to) sequentially, using buffer[from..to) as scratch space.
+     */
+    static void mergeSort(Object[] array, Object[] buffer, int from, int to, Comparator<Object> comparator) {
+        if (to - from <= INSERTION_SORT_CUTOFF) {
+            insertionSort(array, from, to, comparator);
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(array, buffer, from, middle, comparator);
+        mergeSort(array, buffer, middle, to, comparator);
+        merge(array, buffer, from, middle, to, comparator);
+    }
+
+    /**
+     * Stable insertion sort of array[from..to)
+     */
+    static void insertionSort(Object[] array, int from, int to, Comparator<Object> comparator) {
+        for (int i = from + 1; i < to; i++) {
+            Object current = array[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(array[j], current) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = current;
+        }
+    }
+
+    /**
+     * Merges the sorted runs array[from..middle) and array[middle..to).
+     * Only the left run is copied into the buffer; the merge writes back into
+     * the array, which never overtakes the unread part of the right run.
+     */
+    static void merge(Object[] array, Object[] buffer, int from, int middle, int to,
+                      Comparator<Object> comparator) {
+        // Already in order: nothing to merge
+        if (comparator.compare(array[middle - 1], array[middle]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(array, from, buffer, from, middle - from);
+
+        int i = from;
+        int j = middle;
+        int k = from;
+        while (i < middle && j < to) {
+            // Take from the left run on ties to keep the sort stable
+            if (comparator.compare(array[j], buffer[i]) < 0) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        // Remaining right-run elements are already in place
+        System.arraycopy(buffer, i, array, k, middle - i);
+    }
+
+    /**
+     * Fork-join task sorting one range; ranges of different tasks never overlap,
+     * so all tasks share the same array and buffer.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private final Object[] array;
+        private final Object[] buffer;
+        private final int from;
+        private final int to;
+        private final Comparator<Object> comparator;
+
+        SortTask(Object[] array, Object[] buffer, int from, int to, Comparator<Object> comparator) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                mergeSort(array, buffer, from, to, comparator);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(array, buffer, from, middle, comparator),
+                    new SortTask(array, buffer, middle, to, comparator));
+            merge(array, buffer, from, middle, to, comparator);
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Parallel Merge Sort";
+    }
+}
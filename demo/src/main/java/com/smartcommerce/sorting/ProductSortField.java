@@ -0,0 +1,148 @@
+package com.smartcommerce.sorting;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.Comparator;
+
+import com.smartcommerce.exception.BusinessException;
+import com.smartcommerce.model.Product;
+
+/**
+ * Sortable product fields.
+ * Maps the sort field names accepted by the API to an in-memory comparator
+ * and to the SQL column used when sorting is pushed down to the database.
+ * Missing prices and creation times sort first ascending and last descending, the way
+ * MySQL orders NULL, so pages sorted in memory match the pages sorted in SQL.
+ */
+public enum ProductSortField {
+
+    PRODUCT_NAME("p.name", KeyedComparator.<Product, String>comparing(
+            p -> p.getProductName() != null ? p.getProductName().toLowerCase() : ""
+    )),
+    PRICE("p.price", LongKeyComparator.<Product>comparingLong(ProductSortField::priceCents)),
+    CATEGORY_NAME("c.category_name", KeyedComparator.<Product, String>comparing(
+            p -> p.getCategoryName() != null ? p.getCategoryName().toLowerCase() : ""
+    )),
+    QUANTITY("COALESCE(i.quantity_available, 0)", LongKeyComparator.<Product>comparingLong(Product::getQuantityAvailable)),
+    CREATED_AT("p.created_at", LongKeyComparator.<Product>comparingLong(ProductSortField::createdAtMillis)),
+    PRODUCT_ID("p.product_id", LongKeyComparator.<Product>comparingLong(Product::getProductId));
+
+    private final String column;
+    private final Comparator<Product> comparator;
+
+    ProductSortField(String column, Comparator<Product> comparator) {
+        this.column = column;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Resolves a sort field name as accepted by the API (case-insensitive).
+     * Defaults to productId when no field is given.
+     *
+     * @param sortBy the requested sort field
+     * @return the matching sort field
+     * @throws BusinessException if the field is not sortable
+     */
+    public static ProductSortField fromString(String sortBy) {
+        if (sortBy == null || sortBy.trim().isEmpty()) {
+            return PRODUCT_ID;
+        }
+
+        return switch (sortBy.trim().toLowerCase()) {
+            case "productname", "name" -> PRODUCT_NAME;
+            case "price" -> PRICE;
+            case "categoryname", "category" -> CATEGORY_NAME;
+            case "quantity", "quantityavailable" -> QUANTITY;
+            case "createdat" -> CREATED_AT;
+            case "productid", "id" -> PRODUCT_ID;
+            default -> throw new BusinessException("Invalid sort field: " + sortBy +
+                    ". Valid fields: productName, price, categoryName, quantity, createdAt, productId");
+        };
+    }
+
+    /**
+     * SQL expression for this field in the product catalog query
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Ascending comparator for this field.
+     * Always a KeyedComparator or LongKeyComparator, so sort strategies can
+     * extract the sort keys once per product instead of once per comparison.
+     */
+    public Comparator<Product> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Whether this field sorts on an integral key (its comparator is a LongKeyComparator),
+     * which makes it eligible for radix sorting
+     */
+    public boolean hasIntegralKey() {
+        return comparator instanceof LongKeyComparator<?>;
+    }
+
+    /**
+     * Whether keyset (cursor) pagination can seek on this field, i.e. whether the
+     * field is a Products column with a (column, product_id) index. Category names
+     * come from an outer join, and stock is COALESCEd from the joined Inventory row,
+     * so a "keyset" page on either would still scan and sort every matching product.
+     */
+    public boolean supportsCursor() {
+        return this != CATEGORY_NAME && this != QUANTITY;
+    }
+
+    /**
+     * Extracts the value of this field from a product in the textual form stored in cursors
+     *
+     * @return the key, or null if the product has no value for this field
+     */
+    public String cursorKey(Product product) {
+        return switch (this) {
+            case PRODUCT_NAME -> product.getProductName();
+            case PRICE -> product.getPrice() != null ? product.getPrice().toPlainString() : null;
+            case QUANTITY -> String.valueOf(product.getQuantityAvailable());
+            case CREATED_AT -> product.getCreatedAt() != null ? String.valueOf(product.getCreatedAt().getTime()) : null;
+            case PRODUCT_ID -> String.valueOf(product.getProductId());
+            case CATEGORY_NAME -> product.getCategoryName();
+        };
+    }
+
+    /**
+     * Converts a cursor key back into the JDBC parameter value for this field
+     *
+     * @param key the key, or null for a product without a value for this field
+     * @return the parameter value, or null if the key is null
+     * @throws BusinessException if the key is not valid for this field
+     */
+    public Object cursorValue(String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return switch (this) {
+                case PRODUCT_NAME, CATEGORY_NAME -> key;
+                case PRICE -> new BigDecimal(key);
+                case QUANTITY, PRODUCT_ID -> Integer.parseInt(key);
+                case CREATED_AT -> new Timestamp(Long.parseLong(key));
+            };
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Price in cents; prices are stored with two decimals, so this is exact
+     */
+    private static long priceCents(Product product) {
+        BigDecimal price = product.getPrice();
+        return price != null ? price.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue() : Long.MIN_VALUE;
+    }
+
+    private static long createdAtMillis(Product product) {
+        return product.getCreatedAt() != null ? product.getCreatedAt().getTime() : Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,135 @@
+package com.smartcommerce.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.smartcommerce.utils.PerformanceMonitor;
+
+/**
+ * LSD Radix Sort implementation of the SortStrategy interface.
+ *
+ * Time Complexity: O(n) - at most 8 counting passes over 8-bit digits
+ * Space Complexity: O(n) for the keys and index arrays
+ *
+ * Works on comparators with integral keys (LongKeyComparator: product ID,
+ * quantity, price in cents, createdAt millis). Keys are extracted once, mapped to
+ * unsigned order by flipping the sign bit (and complemented for descending order),
+ * and positions are distributed by one byte per pass, least significant first.
+ * Passes where every key has the same byte are skipped, so small key ranges such
+ * as quantities need only one or two passes.
+ *
+ * Each pass is a stable counting sort, so equal keys keep their input order and
+ * the result matches MergeSortStrategy. Inputs that are small, or comparators
+ * without an integral key, are handed to KeyExtractingSortStrategy.
+ *
+ * @param <T> the type of elements to be sorted
+ */
+@Component
+public class RadixSortStrategy<T> implements SortStrategy<T> {
+
+    static final int MIN_RADIX_SIZE = 256;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private final PerformanceMonitor performanceMonitor = PerformanceMonitor.getInstance();
+    private final KeyExtractingSortStrategy<T> fallback = new KeyExtractingSortStrategy<>();
+
+    @Override
+    public List<T> sort(List<T> items, Comparator<T> comparator) {
+        if (items == null) {
+            return new ArrayList<>();
+        }
+        return sortTopK(items, comparator, items.size());
+    }
+
+    @Override
+    public List<T> sortTopK(List<T> items, Comparator<T> comparator, int limit) {
+        if (items == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (!(comparator instanceof LongKeyComparator<?>) || items.size() < MIN_RADIX_SIZE) {
+            return fallback.sortTopK(items, comparator, limit);
+        }
+
+        long startTime = performanceMonitor.startTimer();
+
+        @SuppressWarnings("unchecked")
+        LongKeyComparator<T> keyed = (LongKeyComparator<T>) comparator;
+        Object[] array = items.toArray();
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            @SuppressWarnings("unchecked")
+            long key = keyed.key((T) array[i]) ^ Long.MIN_VALUE;
+            keys[i] = keyed.isDescending() ? ~key : key;
+        }
+
+        int[] indices = sortIndices(keys);
+
+        int count = Math.min(limit, array.length);
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            @SuppressWarnings("unchecked")
+            T element = (T) array[indices[i]];
+            result.add(element);
+        }
+
+        performanceMonitor.recordQueryTime("RadixSort", startTime);
+        return result;
+    }
+
+    /**
+     * Returns the positions of the keys in ascending unsigned order, equal keys
+     * keeping their input order. The contents of the key array are overwritten.
+     */
+    static int[] sortIndices(long[] keys) {
+        int size = keys.length;
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+
+        int[] indexBuffer = new int[size];
+        long[] keyBuffer = new long[size];
+        int[] counts = new int[RADIX];
+
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (long key : keys) {
+                counts[(int) (key >>> shift) & (RADIX - 1)]++;
+            }
+            // Every key has the same digit in this position
+            if (counts[(int) (keys[0] >>> shift) & (RADIX - 1)] == size) {
+                continue;
+            }
+
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int digitCount = counts[digit];
+                counts[digit] = offset;
+                offset += digitCount;
+            }
+            for (int i = 0; i < size; i++) {
+                int target = counts[(int) (keys[i] >>> shift) & (RADIX - 1)]++;
+                keyBuffer[target] = keys[i];
+                indexBuffer[target] = indices[i];
+            }
+
+            long[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapIndices = indices;
+            indices = indexBuffer;
+            indexBuffer = swapIndices;
+        }
+        return indices;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "LSD Radix Sort";
+    }
+}
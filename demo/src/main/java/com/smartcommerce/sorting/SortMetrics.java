@@ -0,0 +1,88 @@
+package com.smartcommerce.sorting;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-algorithm call counts and latency histograms for sort calls.
+ *
+ * Latencies go into power-of-two microsecond buckets: bucket 0 counts calls under
+ * 1us and bucket i counts calls from 2^(i-1)us up to 2^i us. Recording is lock-free
+ * and allocation-free, so it can stay enabled in production.
+ */
+public class SortMetrics {
+
+    private static final int BUCKETS = 32;
+
+    private final Map<String, Algorithm> algorithms = new ConcurrentHashMap<>();
+
+    /**
+     * Call count, total time and latency distribution of one algorithm
+     *
+     * @param algorithm  name of the algorithm
+     * @param calls      number of recorded calls
+     * @param averageMs  mean latency in milliseconds
+     * @param histogram  call counts by latency upper bound (e.g. "<64us"), empty buckets omitted
+     */
+    public record AlgorithmStats(String algorithm, long calls, double averageMs, Map<String, Long> histogram) {
+    }
+
+    private static final class Algorithm {
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    }
+
+    public void record(String algorithm, long durationNanos) {
+        Algorithm stats = algorithms.computeIfAbsent(algorithm, name -> new Algorithm());
+        stats.calls.increment();
+        stats.totalNanos.add(durationNanos);
+        stats.buckets.incrementAndGet(bucket(durationNanos / 1_000));
+    }
+
+    static int bucket(long micros) {
+        if (micros <= 0) {
+            return 0;
+        }
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    public List<AlgorithmStats> snapshot() {
+        List<AlgorithmStats> result = new ArrayList<>();
+        for (Map.Entry<String, Algorithm> entry : algorithms.entrySet()) {
+            Algorithm stats = entry.getValue();
+            long calls = stats.calls.sum();
+            double averageMs = calls > 0 ? stats.totalNanos.sum() / (calls * 1_000_000.0) : 0;
+
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = stats.buckets.get(i);
+                if (count > 0) {
+                    String bound = i == BUCKETS - 1 ? ">=" + (1L << (i - 1)) : "<" + (1L << i);
+                    histogram.put(bound + "us", count);
+                }
+            }
+            result.add(new AlgorithmStats(entry.getKey(), calls, averageMs, histogram));
+        }
+        result.sort((a, b) -> a.algorithm().compareTo(b.algorithm()));
+        return result;
+    }
+
+    public void reset() {
+        algorithms.clear();
+    }
+
+    public String getStats() {
+        StringBuilder stats = new StringBuilder("[SORT]");
+        for (AlgorithmStats algorithm : snapshot()) {
+            stats.append(String.format(" %s: %d calls, %.2f ms avg;",
+                    algorithm.algorithm(), algorithm.calls(), algorithm.averageMs()));
+        }
+        return stats.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.smartcommerce.sorting;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -20,6 +21,22 @@ public interface SortStrategy<T> {
      */
     List<T> sort(List<T> items, Comparator<T> comparator);
 
+    /**
+     * Returns the first {@code limit} items of the sorted order.
+     * Callers that only need a prefix (e.g. one page of a listing) should use this,
+     * so strategies can avoid ordering elements that are never returned.
+     * The default implementation sorts everything and truncates.
+     *
+     * @param items      the list of items to sort
+     * @param comparator the comparator to determine the order
+     * @param limit      the number of leading items required
+     * @return a new list holding at most {@code limit} items in sorted order
+     */
+    default List<T> sortTopK(List<T> items, Comparator<T> comparator, int limit) {
+        List<T> sorted = sort(items, comparator);
+        return sorted.size() > limit ? new ArrayList<>(sorted.subList(0, limit)) : sorted;
+    }
+
     /**
      * Returns the name of the sorting algorithm.
      *
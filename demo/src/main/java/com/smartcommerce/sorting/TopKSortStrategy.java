@@ -0,0 +1,130 @@
+package com.smartcommerce.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.smartcommerce.utils.PerformanceMonitor;
+
+/**
+ * Top-K partial sort implementation of the SortStrategy interface.
+ *
+ * Time Complexity: O(n log k) to return the first k items
+ * Space Complexity: O(k) for the heap
+ *
+ * Keeps the k best elements seen so far in a bounded max-heap whose root is the
+ * worst of them; each remaining element either replaces the root or is discarded
+ * after one comparison. Only the k survivors are put in order at the end, so a
+ * shallow page of a large listing never sorts elements it does not return.
+ *
+ * Ties are broken by input position, so the result is the same stable prefix a
+ * full merge sort would produce. When the requested prefix covers a large share
+ * of the input the heap no longer pays off and the full list is sorted instead.
+ *
+ * @param <T> the type of elements to be sorted
+ */
+@Component
+public class TopKSortStrategy<T> implements SortStrategy<T> {
+
+    private final PerformanceMonitor performanceMonitor = PerformanceMonitor.getInstance();
+    private final ParallelMergeSortStrategy<T> fullSort = new ParallelMergeSortStrategy<>();
+
+    @Override
+    public List<T> sort(List<T> items, Comparator<T> comparator) {
+        return fullSort.sort(items, comparator);
+    }
+
+    @Override
+    public List<T> sortTopK(List<T> items, Comparator<T> comparator, int limit) {
+        if (items == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Past a quarter of the input, a full sort is cheaper than the heap
+        if (limit > items.size() >>> 2) {
+            return SortStrategy.super.sortTopK(items, comparator, limit);
+        }
+
+        long startTime = performanceMonitor.startTimer();
+
+        Object[] array = items.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> order = (Comparator<Object>) comparator;
+        int[] heap = new int[limit];
+        int size = 0;
+
+        for (int i = 0; i < array.length; i++) {
+            if (size < limit) {
+                heap[size] = i;
+                siftUp(heap, size++, array, order);
+            } else if (worse(heap[0], i, array, order)) {
+                heap[0] = i;
+                siftDown(heap, 0, size, array, order);
+            }
+        }
+
+        // Pop the worst survivor into the last free slot until the heap is empty
+        Object[] top = new Object[size];
+        for (int last = size - 1; last >= 0; last--) {
+            top[last] = array[heap[0]];
+            heap[0] = heap[last];
+            siftDown(heap, 0, last, array, order);
+        }
+
+        List<T> result = new ArrayList<>(size);
+        for (Object item : top) {
+            @SuppressWarnings("unchecked")
+            T element = (T) item;
+            result.add(element);
+        }
+
+        performanceMonitor.recordQueryTime("TopKSort", startTime);
+        return result;
+    }
+
+    /**
+     * Whether the element at position a ranks after the element at position b,
+     * comparing by value first and by input position on ties
+     */
+    private static boolean worse(int a, int b, Object[] array, Comparator<Object> comparator) {
+        int cmp = comparator.compare(array[a], array[b]);
+        return cmp > 0 || (cmp == 0 && a > b);
+    }
+
+    private static void siftUp(int[] heap, int index, Object[] array, Comparator<Object> comparator) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(item, heap[parent], array, comparator)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private static void siftDown(int[] heap, int index, int size, Object[] array, Comparator<Object> comparator) {
+        int item = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && worse(heap[right], heap[child], array, comparator)) {
+                child = right;
+            }
+            if (!worse(heap[child], item, array, comparator)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Top-K Heap Sort";
+    }
+}
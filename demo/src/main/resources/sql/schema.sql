@@ -86,9 +86,12 @@ CREATE TABLE Reviews (
 CREATE INDEX idx_users_email ON Users(email);
 CREATE INDEX idx_products_category ON Products(category_id);
 CREATE INDEX idx_products_name ON Products(name);
+CREATE INDEX idx_products_price_id ON Products(price, product_id);
+CREATE INDEX idx_products_created_id ON Products(created_at, product_id);
+CREATE FULLTEXT INDEX ft_products_name_description ON Products(name, description);
 CREATE INDEX idx_inventory_product ON Inventory(product_id);
-CREATE INDEX idx_orders_user ON Orders(user_id);
-CREATE INDEX idx_orders_date ON Orders(order_date);
+CREATE INDEX idx_orders_user_date_id ON Orders(user_id, order_date, order_id);
+CREATE INDEX idx_orders_date_id ON Orders(order_date, order_id);
 CREATE INDEX idx_order_items_order ON OrderItems(order_id);
 CREATE INDEX idx_order_items_product ON OrderItems(product_id);
 CREATE INDEX idx_reviews_product ON Reviews(product_id);
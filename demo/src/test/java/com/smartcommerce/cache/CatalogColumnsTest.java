@@ -0,0 +1,134 @@
+package com.smartcommerce.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.model.Product;
+
+/**
+ * Bitmap counts and column selections, checked position by position against a plain
+ * scan of the products, both for freshly built columns and for columns patched in place
+ * by withProductAt.
+ */
+class CatalogColumnsTest {
+
+    private static final String[] CATEGORIES = {"Books", "Games", "Music"};
+    private static final List<String> CATEGORY_FILTERS = Arrays.asList(null, "Books", " games ", "MUSIC", "Toys");
+    private static final List<Boolean> STOCK_FILTERS = Arrays.asList(null, true, false);
+
+    private final Random random = new Random(7);
+    private List<Product> catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ArrayList<>();
+        for (int id = 200; id > 0; id--) {
+            catalog.add(randomProduct(id));
+        }
+    }
+
+    @Test
+    void countsMatchAScanOfTheCatalog() {
+        assertColumnsMatchScan(CatalogColumns.of(catalog), catalog);
+    }
+
+    @Test
+    void patchedColumnsMatchAScanOfThePatchedCatalog() {
+        CatalogColumns columns = CatalogColumns.of(catalog);
+        for (int i = 0; i < 300; i++) {
+            int position = random.nextInt(catalog.size());
+            Product replacement = randomProduct(catalog.get(position).getProductId());
+            catalog.set(position, replacement);
+            columns = columns.withProductAt(position, replacement);
+        }
+
+        assertColumnsMatchScan(columns, catalog);
+    }
+
+    @Test
+    void patchesThatFlipStockOrMoveCategoryLeaveEarlierColumnsUntouched() {
+        int id = catalog.get(0).getProductId();
+        catalog.set(0, product(id, new BigDecimal("9.99"), "Books", 5));
+        CatalogColumns before = CatalogColumns.of(catalog);
+        int booksInStock = before.count("Books", true);
+
+        CatalogColumns after = before.withProductAt(0, product(id, new BigDecimal("9.99"), "Garden", 0));
+
+        assertEquals(booksInStock, before.count("Books", true));
+        assertEquals(0, before.count("Garden", null));
+        assertEquals(booksInStock - 1, after.count("Books", true));
+        assertEquals(1, after.count("garden", false));
+        assertEquals(0, after.count("Garden", true));
+    }
+
+    private void assertColumnsMatchScan(CatalogColumns columns, List<Product> products) {
+        List<BigDecimal> minPrices = Arrays.asList(null, new BigDecimal("10.005"), new BigDecimal("25"));
+        List<BigDecimal> maxPrices = Arrays.asList(null, new BigDecimal("39.999"), new BigDecimal("25.00"));
+
+        for (String category : CATEGORY_FILTERS) {
+            for (Boolean inStock : STOCK_FILTERS) {
+                int[] expected = scan(products, category, null, null, inStock);
+                assertEquals(expected.length, columns.count(category, inStock), category + " " + inStock);
+
+                for (BigDecimal minPrice : minPrices) {
+                    for (BigDecimal maxPrice : maxPrices) {
+                        assertArrayEquals(scan(products, category, minPrice, maxPrice, inStock),
+                                columns.select(category, minPrice, maxPrice, inStock, null),
+                                category + " " + minPrice + ".." + maxPrice + " " + inStock);
+                    }
+                }
+            }
+        }
+
+        // The position filter only sees positions that passed the other filters
+        int[] even = columns.select("Books", null, null, true, position -> columns.productId(position) % 2 == 0);
+        assertArrayEquals(IntStream.of(scan(products, "Books", null, null, true))
+                .filter(position -> products.get(position).getProductId() % 2 == 0)
+                .toArray(), even);
+    }
+
+    /**
+     * Positions of matching products, filtered one product at a time like the SQL WHERE clause
+     */
+    private static int[] scan(List<Product> products, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                              Boolean inStock) {
+        return IntStream.range(0, products.size())
+                .filter(position -> {
+                    Product product = products.get(position);
+                    return (category == null || (product.getCategoryName() != null
+                                    && product.getCategoryName().equalsIgnoreCase(category.trim())))
+                            && (minPrice == null || product.getPrice().compareTo(minPrice) >= 0)
+                            && (maxPrice == null || product.getPrice().compareTo(maxPrice) <= 0)
+                            && (inStock == null || (product.getQuantityAvailable() > 0) == inStock);
+                })
+                .toArray();
+    }
+
+    private Product randomProduct(int id) {
+        return product(id,
+                BigDecimal.valueOf(random.nextInt(5000), 2),
+                random.nextInt(10) == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)],
+                random.nextBoolean() ? 0 : random.nextInt(1, 20));
+    }
+
+    private static Product product(int id, BigDecimal price, String category, int quantity) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName("Item " + id);
+        product.setPrice(price);
+        product.setCategoryName(category);
+        // Adds to the current quantity, which is 0 for a new product
+        product.setQuantityAvailable(quantity);
+        return product;
+    }
+}
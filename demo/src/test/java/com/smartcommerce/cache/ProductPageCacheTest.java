@@ -0,0 +1,89 @@
+package com.smartcommerce.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.sorting.ProductSortField;
+
+/**
+ * Hits, misses and eviction of the version-keyed page cache
+ */
+class ProductPageCacheTest {
+
+    private static final ProductFilterDTO BOOKS = new ProductFilterDTO("Books", new BigDecimal("10.00"), null, null, true);
+
+    private final ProductPageCache cache = new ProductPageCache(16);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void equivalentFiltersShareAnEntry() {
+        ProductPageCache.PageResult first = page(BOOKS, 1);
+        ProductPageCache.PageResult second = page(new ProductFilterDTO(" books ", new BigDecimal("10"), null, "", true), 1);
+
+        assertEquals(1, computations.get());
+        assertArrayEquals(first.productIds(), second.productIds());
+    }
+
+    @Test
+    void catalogVersionBumpMissesEveryEntry() {
+        page(BOOKS, 1);
+        page(null, 1);
+
+        ProductPageCache.PageResult recomputed = page(BOOKS, 2);
+        page(null, 2);
+
+        assertEquals(4, computations.get());
+        assertEquals(2, recomputed.totalCount());
+    }
+
+    @Test
+    void pageComputedAgainstAReplacedSnapshotIsNotCached() {
+        page(BOOKS, 2);
+        // A request still holding the previous snapshot finishes after the bump
+        page(BOOKS, 1);
+        page(BOOKS, 1);
+        page(BOOKS, 2);
+
+        assertEquals(3, computations.get());
+    }
+
+    @Test
+    void pageRecordsTheCountForItsFilter() {
+        page(BOOKS, 1);
+
+        assertEquals(1, cache.count(BOOKS, 1, () -> -1));
+        assertEquals(-1, cache.count(BOOKS, 2, () -> -1));
+    }
+
+    @Test
+    void leastRecentlyUsedPagesAreEvicted() {
+        // Room for two pages plus the count entry they share
+        ProductPageCache small = new ProductPageCache(3);
+        AtomicInteger computed = new AtomicInteger();
+        for (int pageNumber : new int[]{0, 1, 0, 2, 0, 1}) {
+            small.page(null, ProductSortField.PRICE, false, pageNumber, 10, 1, () -> {
+                computed.incrementAndGet();
+                return new ProductPageCache.PageResult(new int[]{pageNumber}, 3);
+            });
+        }
+
+        // Page 0 stays cached because it keeps being read; page 1 is evicted by page 2
+        assertEquals(4, computed.get());
+    }
+
+    /**
+     * Requests the first page sorted by price; the computed result carries the version as its count
+     */
+    private ProductPageCache.PageResult page(ProductFilterDTO filters, long version) {
+        return cache.page(filters, ProductSortField.PRICE, false, 0, 10, version, () -> {
+            computations.incrementAndGet();
+            return new ProductPageCache.PageResult(new int[]{1, 2, 3}, version);
+        });
+    }
+}
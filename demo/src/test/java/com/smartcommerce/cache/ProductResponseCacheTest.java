@@ -0,0 +1,66 @@
+package com.smartcommerce.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.dtos.response.ProductResponse;
+import com.smartcommerce.exception.ResourceNotFoundException;
+
+/**
+ * Version checks and the entry bound of the hot response cache
+ */
+class ProductResponseCacheTest {
+
+    private final ProductResponseCache cache = new ProductResponseCache(2);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @Test
+    void responseIsRebuiltOnlyWhenItsVersionChanges() {
+        ProductResponse first = product(1, 5);
+
+        assertSame(first, product(1, 5));
+        product(1, 6);
+
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void fullCacheServesNewKeysWithoutEvictingCachedOnes() {
+        product(1, 1);
+        product(2, 1);
+        product(3, 1);
+        product(3, 1);
+        product(1, 1);
+
+        // Product 3 is built every time; 1 and 2 keep their slots
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    void productThatFailsToBuildGivesUpItsSlot() {
+        product(1, 1);
+        product(2, 1);
+        assertThrows(ResourceNotFoundException.class, () -> cache.product(2, 2, () -> {
+            throw new ResourceNotFoundException("Product", "id", 2);
+        }));
+
+        product(3, 1);
+        product(3, 1);
+
+        assertEquals(3, builds.get());
+    }
+
+    private ProductResponse product(int id, long version) {
+        return cache.product(id, version, () -> {
+            builds.incrementAndGet();
+            ProductResponse response = new ProductResponse();
+            response.setProductId(id);
+            return response;
+        });
+    }
+}
@@ -0,0 +1,105 @@
+package com.smartcommerce.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ledger state through a checkout, with a map standing in for the Inventory table.
+ * Checkout follows the order InventoryServiceImp runs after commit: the stock
+ * deduction refreshes the ledger, then the buyer's holds are consumed.
+ */
+class ReservationLedgerTest {
+
+    private static final long TTL_MS = 60000;
+    private static final int PRODUCT = 1;
+    private static final int OTHER_PRODUCT = 2;
+    private static final int BUYER = 10;
+    private static final int OTHER_USER = 20;
+
+    private final Map<Integer, Integer> database = new HashMap<>();
+    private ReservationLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        database.put(PRODUCT, 10);
+        database.put(OTHER_PRODUCT, 5);
+        ledger = new ReservationLedger(TTL_MS, this::loadStock);
+    }
+
+    @Test
+    void checkoutRemovesSoldStockOnce() {
+        assertTrue(ledger.hold(BUYER, PRODUCT, 3));
+        assertTrue(ledger.hold(OTHER_USER, PRODUCT, 2));
+
+        checkout(BUYER, Map.of(PRODUCT, 3));
+
+        assertEquals(0, ledger.heldBy(BUYER, PRODUCT));
+        assertEquals(2, ledger.heldBy(OTHER_USER, PRODUCT));
+        // 7 left on hand, 2 of them still held by the other cart
+        assertEquals(5, ledger.available(PRODUCT, ReservationLedger.NO_USER));
+        assertEquals(7, ledger.available(PRODUCT, OTHER_USER));
+    }
+
+    @Test
+    void checkoutOfSeveralProductsLeavesUnrelatedStockAlone() {
+        assertTrue(ledger.confirm(BUYER, Map.of(PRODUCT, 4, OTHER_PRODUCT, 5)));
+        assertEquals(0, ledger.available(OTHER_PRODUCT, ReservationLedger.NO_USER));
+
+        checkout(BUYER, Map.of(PRODUCT, 4, OTHER_PRODUCT, 5));
+
+        assertEquals(6, ledger.available(PRODUCT, ReservationLedger.NO_USER));
+        assertEquals(0, ledger.available(OTHER_PRODUCT, ReservationLedger.NO_USER));
+        assertFalse(ledger.hold(OTHER_USER, OTHER_PRODUCT, 1));
+        assertTrue(ledger.hold(OTHER_USER, PRODUCT, 6));
+    }
+
+    @Test
+    void consumingUntrackedProductsReadsCommittedStock() {
+        // The ledger is not tracking the product when the sale commits, e.g. after a sweep
+        database.put(PRODUCT, 8);
+
+        ledger.consume(BUYER, List.of(PRODUCT));
+
+        assertEquals(8, ledger.available(PRODUCT, ReservationLedger.NO_USER));
+    }
+
+    @Test
+    void restockIsVisibleAfterRefresh() {
+        assertTrue(ledger.hold(BUYER, PRODUCT, 10));
+        assertEquals(0, ledger.available(PRODUCT, OTHER_USER));
+
+        database.put(PRODUCT, 15);
+        ledger.refresh(List.of(PRODUCT));
+
+        assertEquals(5, ledger.available(PRODUCT, OTHER_USER));
+    }
+
+    /**
+     * Commits the stock deduction, then applies the ledger updates in after-commit order
+     */
+    private void checkout(int userId, Map<Integer, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> database.merge(productId, -quantity, Integer::sum));
+        ledger.refresh(quantities.keySet());
+        ledger.consume(userId, quantities.keySet());
+    }
+
+    private Map<Integer, Integer> loadStock(Collection<Integer> productIds) {
+        Map<Integer, Integer> levels = new HashMap<>();
+        for (Integer productId : productIds) {
+            Integer stock = database.get(productId);
+            if (stock != null) {
+                levels.put(productId, stock);
+            }
+        }
+        return levels;
+    }
+}
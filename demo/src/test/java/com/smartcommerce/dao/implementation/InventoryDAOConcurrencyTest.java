@@ -0,0 +1,182 @@
+package com.smartcommerce.dao.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stress test for InventoryDAO's conditional stock updates: many threads race to
+ * buy more stock than exists, and the stock sold must always equal the stock removed.
+ */
+class InventoryDAOConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 250;
+    private static final int INITIAL_STOCK = 1000;
+    private static final int FIRST_PRODUCT = 1;
+    private static final int SECOND_PRODUCT = 2;
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+    private InventoryDAO inventoryDAO;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:inventory-" + UUID.randomUUID() + ";MODE=MySQL");
+        // The in-memory database lives as long as at least one connection is open
+        keepAlive = dataSource.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE Inventory (" +
+                    "inventory_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "product_id INT UNIQUE, " +
+                    "quantity_available INT NOT NULL, " +
+                    "last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("INSERT INTO Inventory (product_id, quantity_available) VALUES " +
+                    "(" + FIRST_PRODUCT + ", " + INITIAL_STOCK + "), (" + SECOND_PRODUCT + ", " + INITIAL_STOCK + ")");
+        }
+
+        inventoryDAO = new InventoryDAO(dataSource);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.shutdownNow();
+        keepAlive.close();
+    }
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+
+        runConcurrently(() -> {
+            int quantity = ThreadLocalRandom.current().nextInt(1, 4);
+            if (inventoryDAO.decrementStock(FIRST_PRODUCT, quantity)) {
+                sold.addAndGet(quantity);
+            }
+        });
+
+        int remaining = stockOf(FIRST_PRODUCT);
+        assertTrue(remaining >= 0, "stock went negative: " + remaining);
+        assertEquals(INITIAL_STOCK - sold.get(), remaining);
+        // Demand (at least THREADS * ATTEMPTS_PER_THREAD units) exceeds supply, so stock must run out
+        assertTrue(remaining < 3, "stock left unsold: " + remaining);
+    }
+
+    @Test
+    void concurrentOrderBatchesAreAllOrNothing() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        AtomicInteger soldFirst = new AtomicInteger();
+        AtomicInteger soldSecond = new AtomicInteger();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Map<Integer, Integer> order = new LinkedHashMap<>();
+            // Vary the line order; the DAO must still lock rows consistently
+            if (random.nextBoolean()) {
+                order.put(FIRST_PRODUCT, random.nextInt(1, 4));
+                order.put(SECOND_PRODUCT, random.nextInt(1, 6));
+            } else {
+                order.put(SECOND_PRODUCT, random.nextInt(1, 6));
+                order.put(FIRST_PRODUCT, random.nextInt(1, 4));
+            }
+
+            Boolean placed = transaction.execute(status -> {
+                if (!inventoryDAO.decrementStock(order)) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            });
+            if (Boolean.TRUE.equals(placed)) {
+                soldFirst.addAndGet(order.get(FIRST_PRODUCT));
+                soldSecond.addAndGet(order.get(SECOND_PRODUCT));
+            }
+        });
+
+        int remainingFirst = stockOf(FIRST_PRODUCT);
+        int remainingSecond = stockOf(SECOND_PRODUCT);
+        assertTrue(remainingFirst >= 0, "stock went negative: " + remainingFirst);
+        assertTrue(remainingSecond >= 0, "stock went negative: " + remainingSecond);
+        // Rolled back orders must not leave any of their lines decremented
+        assertEquals(INITIAL_STOCK - soldFirst.get(), remainingFirst);
+        assertEquals(INITIAL_STOCK - soldSecond.get(), remainingSecond);
+    }
+
+    @Test
+    void shortBatchOutsideATransactionLeavesEveryRowUnchanged() throws SQLException {
+        // Rows run in product ID order, so the first product is decremented before the second comes up short
+        Map<Integer, Integer> order = Map.of(FIRST_PRODUCT, 5, SECOND_PRODUCT, INITIAL_STOCK + 1);
+
+        assertFalse(inventoryDAO.decrementStock(order));
+
+        assertEquals(INITIAL_STOCK, stockOf(FIRST_PRODUCT));
+        assertEquals(INITIAL_STOCK, stockOf(SECOND_PRODUCT));
+        assertTrue(inventoryDAO.decrementStock(Map.of(FIRST_PRODUCT, 5, SECOND_PRODUCT, 7)));
+        assertEquals(INITIAL_STOCK - 5, stockOf(FIRST_PRODUCT));
+        assertEquals(INITIAL_STOCK - 7, stockOf(SECOND_PRODUCT));
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        runConcurrently(() -> assertTrue(inventoryDAO.incrementStock(FIRST_PRODUCT, 2)));
+
+        assertEquals(INITIAL_STOCK + 2 * THREADS * ATTEMPTS_PER_THREAD, stockOf(FIRST_PRODUCT));
+    }
+
+    /**
+     * Runs the attempt ATTEMPTS_PER_THREAD times on each of THREADS threads, all released at once
+     */
+    private void runConcurrently(Runnable attempt) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    attempt.run();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    private int stockOf(int productId) throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT quantity_available FROM Inventory WHERE product_id = " + productId)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
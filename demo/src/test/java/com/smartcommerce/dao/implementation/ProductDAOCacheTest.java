@@ -0,0 +1,352 @@
+package com.smartcommerce.dao.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataRetrievalFailureException;
+
+import com.smartcommerce.cache.CatalogSnapshot;
+import com.smartcommerce.model.Product;
+
+/**
+ * ProductDAO's cached catalog against an in-memory database: writes that land while a
+ * full catalog load is running, loads that fail part way through, and writes patched
+ * into a warm cache.
+ * The full catalog query is the only one the DAO runs through a plain Statement, so the
+ * data source hands its result set to catalogQuery, which can pause or break the load.
+ * Every other query is prepared; those are recorded, and the ones matching failingQuery fail.
+ */
+class ProductDAOCacheTest {
+
+    private static final int PRODUCTS = 5;
+
+    private JdbcDataSource database;
+    private Connection keepAlive;
+    private ProductDAO productDAO;
+    private ExecutorService executor;
+    private volatile CatalogQuery catalogQuery = rs -> rs;
+    private volatile Predicate<String> failingQuery = sql -> false;
+    private final List<String> preparedQueries = new CopyOnWriteArrayList<>();
+
+    private interface CatalogQuery {
+        ResultSet apply(ResultSet rs) throws SQLException;
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:products-" + UUID.randomUUID() + ";MODE=MySQL");
+        // The in-memory database lives as long as at least one connection is open
+        keepAlive = database.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE Categories (" +
+                    "category_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "category_name VARCHAR(100) NOT NULL)");
+            stmt.execute("CREATE TABLE Products (" +
+                    "product_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "name VARCHAR(150) NOT NULL, " +
+                    "description TEXT, " +
+                    "price DECIMAL(10,2) NOT NULL, " +
+                    "category_id INT, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE Inventory (" +
+                    "inventory_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "product_id INT UNIQUE, " +
+                    "quantity_available INT NOT NULL)");
+            stmt.execute("INSERT INTO Categories (category_name) VALUES ('Books')");
+            for (int i = 1; i <= PRODUCTS; i++) {
+                stmt.execute("INSERT INTO Products (name, description, price, category_id) " +
+                        "VALUES ('Product " + i + "', 'Description " + i + "', " + i + ".00, 1)");
+                stmt.execute("INSERT INTO Inventory (product_id, quantity_available) VALUES (" + i + ", 10)");
+            }
+        }
+
+        productDAO = new ProductDAO(interceptCatalogQuery(database), "index");
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.shutdownNow();
+        keepAlive.close();
+    }
+
+    @Test
+    void updateDuringLoadIsVisibleOnceTheLoadPublishes() throws Exception {
+        CountDownLatch catalogRead = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pauseCatalogQuery(catalogRead, release);
+
+        Future<List<Product>> load = executor.submit(productDAO::getAllProducts);
+        assertTrue(catalogRead.await(5, TimeUnit.SECONDS));
+
+        // The load has already read product 3 as it was before this write
+        Product product = productDAO.getProductById(3);
+        product.setProductName("Renamed");
+        product.setPrice(new BigDecimal("99.00"));
+        assertTrue(productDAO.updateProduct(product));
+
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+
+        assertEquals("Renamed", productDAO.getCatalogSnapshot().getProduct(3).getProductName());
+        assertEquals(0, new BigDecimal("99.00").compareTo(productDAO.getCatalogSnapshot().getProduct(3).getPrice()));
+        assertEquals(List.of(3), List.copyOf(productDAO.searchProductIds("renamed")));
+        // The name the load read is no longer indexed
+        assertFalse(productDAO.searchProductIds("product").contains(3));
+    }
+
+    @Test
+    void deleteDuringLoadIsNotResurrectedByTheLoad() throws Exception {
+        CountDownLatch catalogRead = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pauseCatalogQuery(catalogRead, release);
+
+        Future<List<Product>> load = executor.submit(productDAO::getAllProducts);
+        assertTrue(catalogRead.await(5, TimeUnit.SECONDS));
+
+        assertTrue(productDAO.deleteProduct(2));
+
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+
+        assertNull(productDAO.getCatalogSnapshot().getProduct(2));
+        assertEquals(PRODUCTS - 1, productDAO.getAllProducts().size());
+        assertFalse(productDAO.searchProductIds("product").contains(2));
+    }
+
+    @Test
+    void loadStillPublishesWhenEveryProductIsWrittenDuringIt() throws Exception {
+        CountDownLatch catalogRead = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pauseCatalogQuery(catalogRead, release);
+
+        Future<List<Product>> load = executor.submit(productDAO::getAllProducts);
+        assertTrue(catalogRead.await(5, TimeUnit.SECONDS));
+
+        for (int id = 1; id <= PRODUCTS; id++) {
+            Product product = productDAO.getProductById(id);
+            product.setDescription("Updated " + id);
+            assertTrue(productDAO.updateProduct(product));
+        }
+
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+
+        assertNotNull(productDAO.getCatalogSnapshot(), "cache stayed cold");
+        for (int id = 1; id <= PRODUCTS; id++) {
+            assertEquals("Updated " + id, productDAO.getCatalogSnapshot().getProduct(id).getDescription());
+        }
+    }
+
+    @Test
+    void loadFailingPartWayThroughServesNothing() {
+        AtomicInteger failures = new AtomicInteger();
+        catalogQuery = rs -> failAfter(rs, 2, failures);
+
+        assertThrows(DataRetrievalFailureException.class, productDAO::getAllProducts);
+        assertEquals(1, failures.get());
+        assertNull(productDAO.getCatalogSnapshot(), "a partial catalog was cached");
+
+        // The next read loads the whole catalog again
+        catalogQuery = rs -> rs;
+        assertEquals(PRODUCTS, productDAO.getAllProducts().size());
+        assertEquals(PRODUCTS, productDAO.getCatalogSnapshot().getProducts().size());
+    }
+
+    @Test
+    void failedReloadLeavesTheCacheCold() {
+        assertEquals(PRODUCTS, productDAO.getAllProducts().size());
+        productDAO.invalidateCache();
+        catalogQuery = rs -> failAfter(rs, 0, new AtomicInteger());
+
+        assertThrows(DataRetrievalFailureException.class, productDAO::getAllProducts);
+        assertNull(productDAO.getCatalogSnapshot());
+        // Single reads still go to the database
+        assertEquals("Product 4", productDAO.getProductById(4).getProductName());
+    }
+
+    @Test
+    void updatePatchesTheCacheWithoutReadingTheProductBack() {
+        productDAO.getAllProducts();
+        Product product = productDAO.getProductById(3);
+        product.setProductName("Renamed");
+        preparedQueries.clear();
+
+        assertTrue(productDAO.updateProduct(product));
+
+        assertEquals(List.of("UPDATE"), preparedQueries.stream().map(sql -> sql.split(" ")[0]).toList());
+        Product cached = productDAO.getCatalogSnapshot().getProduct(3);
+        assertEquals("Renamed", cached.getProductName());
+        assertEquals("Books", cached.getCategoryName());
+        assertEquals(10, cached.getQuantityAvailable());
+        assertEquals(List.of(3), List.copyOf(productDAO.searchProductIds("renamed")));
+    }
+
+    @Test
+    void addedProductIsCachedAsStored() throws SQLException {
+        productDAO.getAllProducts();
+        Product product = new Product("Added", "New", new BigDecimal("7.50"), 1);
+        preparedQueries.clear();
+
+        assertTrue(productDAO.addProduct(product));
+
+        assertTrue(preparedQueries.stream().allMatch(sql -> sql.startsWith("INSERT")), preparedQueries.toString());
+        Product cached = productDAO.getCatalogSnapshot().getProduct(product.getProductId());
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT created_at FROM Products WHERE product_id = "
+                     + product.getProductId())) {
+            assertTrue(rs.next());
+            assertEquals(rs.getTimestamp(1), cached.getCreatedAt());
+        }
+        assertEquals("Books", cached.getCategoryName());
+        assertEquals(0, cached.getQuantityAvailable());
+        assertEquals(PRODUCTS + 1, productDAO.getAllProducts().size());
+    }
+
+    @Test
+    void stockRefreshAndUpdateKeepEachOthersChanges() throws SQLException {
+        productDAO.getAllProducts();
+        // Taken before the stock change, so it still carries the old quantity
+        Product product = productDAO.getProductById(1);
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("UPDATE Inventory SET quantity_available = 3 WHERE product_id = 1");
+        }
+        productDAO.refreshProduct(1);
+
+        product.setPrice(new BigDecimal("42.00"));
+        assertTrue(productDAO.updateProduct(product));
+
+        Product cached = productDAO.getCatalogSnapshot().getProduct(1);
+        assertEquals(0, new BigDecimal("42.00").compareTo(cached.getPrice()));
+        assertEquals(3, cached.getQuantityAvailable());
+    }
+
+    @Test
+    void failedStockReadEvictsOnlyThoseProducts() {
+        productDAO.getAllProducts();
+        failingQuery = sql -> sql.contains("quantity_available");
+
+        productDAO.refreshProducts(List.of(2, 4));
+
+        CatalogSnapshot cached = productDAO.getCatalogSnapshot();
+        assertNotNull(cached, "the whole cache was dropped");
+        assertEquals(PRODUCTS - 2, cached.size());
+        assertNull(cached.getProduct(2));
+        assertNotNull(cached.getProduct(3));
+
+        // Evicted products are read from the database again
+        failingQuery = sql -> false;
+        assertEquals("Product 2", productDAO.getProductById(2).getProductName());
+    }
+
+    /**
+     * Holds the catalog query's result until release, after signalling that the query has run
+     */
+    private void pauseCatalogQuery(CountDownLatch catalogRead, CountDownLatch release) {
+        catalogQuery = rs -> {
+            catalogRead.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rs;
+        };
+    }
+
+    /**
+     * A result set that fails once the given number of rows have been read
+     */
+    private static ResultSet failAfter(ResultSet rs, int rows, AtomicInteger failures) {
+        AtomicInteger read = new AtomicInteger();
+        return proxy(ResultSet.class, rs, (method, args) -> {
+            if (method.getName().equals("next") && read.getAndIncrement() == rows) {
+                failures.incrementAndGet();
+                throw new SQLException("Connection reset");
+            }
+            return null;
+        });
+    }
+
+    private DataSource interceptCatalogQuery(DataSource target) {
+        return proxy(DataSource.class, target, (method, args) ->
+                method.getName().equals("getConnection") && args == null
+                        ? interceptCatalogQuery(target.getConnection())
+                        : null);
+    }
+
+    private Connection interceptCatalogQuery(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            if (method.getName().equals("createStatement") && args == null) {
+                return interceptCatalogQuery(target.createStatement());
+            }
+            if (method.getName().equals("prepareStatement")) {
+                String sql = (String) args[0];
+                preparedQueries.add(sql);
+                if (failingQuery.test(sql)) {
+                    throw new SQLException("Connection reset");
+                }
+            }
+            return null;
+        });
+    }
+
+    private Statement interceptCatalogQuery(Statement target) {
+        return proxy(Statement.class, target, (method, args) ->
+                method.getName().equals("executeQuery")
+                        ? catalogQuery.apply(target.executeQuery((String) args[0]))
+                        : null);
+    }
+
+    private interface Interceptor {
+        /**
+         * @return the result to return instead of calling the target, or null to call it
+         */
+        Object intercept(Method method, Object[] args) throws SQLException;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result = interceptor.intercept(method, args);
+                    if (result != null) {
+                        return result;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+}
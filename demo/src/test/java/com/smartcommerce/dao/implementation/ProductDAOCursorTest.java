@@ -0,0 +1,154 @@
+package com.smartcommerce.dao.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.dtos.request.ProductCursor;
+import com.smartcommerce.model.Product;
+import com.smartcommerce.sorting.ProductSortField;
+
+/**
+ * Keyset pages walked end to end against an in-memory database, including products
+ * without a creation time and runs of equal sort keys. Every walk must visit each
+ * product exactly once, in the order of a plain ORDER BY over the whole catalog.
+ */
+class ProductDAOCursorTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private Connection keepAlive;
+    private ProductDAO productDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:cursor-" + UUID.randomUUID() + ";MODE=MySQL");
+        // The in-memory database lives as long as at least one connection is open
+        keepAlive = dataSource.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE Categories (" +
+                    "category_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "category_name VARCHAR(100) NOT NULL)");
+            stmt.execute("CREATE TABLE Products (" +
+                    "product_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "name VARCHAR(150) NOT NULL, " +
+                    "description TEXT, " +
+                    "price DECIMAL(10,2) NOT NULL, " +
+                    "category_id INT, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE Inventory (" +
+                    "inventory_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "product_id INT UNIQUE, " +
+                    "quantity_available INT NOT NULL)");
+            stmt.execute("INSERT INTO Categories (category_name) VALUES ('Books')");
+            stmt.execute("INSERT INTO Products (name, price, category_id, created_at) VALUES " +
+                    "('Atlas', 10.00, 1, NULL), " +
+                    "('Bible', 5.00, 1, '2024-01-02 00:00:00'), " +
+                    "('Codex', 10.00, 1, NULL), " +
+                    "('Diary', 7.50, 1, '2024-01-01 00:00:00'), " +
+                    "('Atlas', 10.00, 1, '2024-01-02 00:00:00'), " +
+                    "('Essay', 5.00, 1, NULL), " +
+                    "('Fable', 12.00, 1, '2024-01-03 00:00:00')");
+        }
+
+        productDAO = new ProductDAO(dataSource, "index");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    void createdAtPagesVisitProductsWithoutACreationTime() throws SQLException {
+        assertWalkMatchesOrderBy(ProductSortField.CREATED_AT, false);
+        assertWalkMatchesOrderBy(ProductSortField.CREATED_AT, true);
+    }
+
+    @Test
+    void pagesStepThroughRunsOfEqualKeys() throws SQLException {
+        assertWalkMatchesOrderBy(ProductSortField.PRICE, false);
+        assertWalkMatchesOrderBy(ProductSortField.PRICE, true);
+        assertWalkMatchesOrderBy(ProductSortField.PRODUCT_NAME, false);
+        assertWalkMatchesOrderBy(ProductSortField.PRODUCT_NAME, true);
+        assertWalkMatchesOrderBy(ProductSortField.PRODUCT_ID, false);
+        assertWalkMatchesOrderBy(ProductSortField.PRODUCT_ID, true);
+    }
+
+    @Test
+    void missingSortKeySurvivesTheToken() {
+        Product undated = new Product();
+        undated.setProductId(3);
+
+        ProductCursor cursor = ProductCursor.decode(
+                ProductCursor.after(undated, ProductSortField.CREATED_AT, true).encode());
+
+        assertNull(cursor.sortKey());
+        assertNull(cursor.sortValue());
+        assertEquals(3, cursor.productId());
+    }
+
+    @Test
+    void emptySortKeyIsNotMistakenForAMissingOne() {
+        Product unnamed = new Product();
+        unnamed.setProductId(4);
+        unnamed.setProductName("");
+
+        ProductCursor cursor = ProductCursor.decode(
+                ProductCursor.after(unnamed, ProductSortField.PRODUCT_NAME, false).encode());
+
+        assertEquals("", cursor.sortKey());
+    }
+
+    @Test
+    void quantityAndCategoryAreNotKeysetSortable() {
+        assertFalse(ProductSortField.QUANTITY.supportsCursor());
+        assertFalse(ProductSortField.CATEGORY_NAME.supportsCursor());
+    }
+
+    /**
+     * Walks every page through encoded cursors, as a client would, and compares the
+     * visited product IDs with the full ORDER BY
+     */
+    private void assertWalkMatchesOrderBy(ProductSortField sortField, boolean descending) throws SQLException {
+        List<Integer> visited = new ArrayList<>();
+        ProductCursor after = null;
+        while (true) {
+            List<Product> page = productDAO.findProductsAfter(null, sortField, descending, after, PAGE_SIZE);
+            page.forEach(product -> visited.add(product.getProductId()));
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            after = ProductCursor.decode(ProductCursor.after(page.get(PAGE_SIZE - 1), sortField, descending).encode());
+        }
+
+        assertEquals(expectedOrder(sortField, descending), visited, sortField + (descending ? " DESC" : " ASC"));
+    }
+
+    private List<Integer> expectedOrder(ProductSortField sortField, boolean descending) throws SQLException {
+        String direction = descending ? " DESC" : " ASC";
+        List<Integer> ids = new ArrayList<>();
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT p.product_id FROM Products p ORDER BY " +
+                     sortField.getColumn() + direction + ", p.product_id" + direction)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
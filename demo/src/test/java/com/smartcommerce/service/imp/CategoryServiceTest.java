@@ -0,0 +1,94 @@
+package com.smartcommerce.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.dao.implementation.CategoryDAO;
+import com.smartcommerce.dao.implementation.ProductDAO;
+import com.smartcommerce.model.Category;
+
+/**
+ * Category writes seen through the cached product catalog, which copies category names
+ * into every product and versions its listings
+ */
+class CategoryServiceTest {
+
+    private Connection keepAlive;
+    private ProductDAO productDAO;
+    private CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:categories-" + UUID.randomUUID() + ";MODE=MySQL");
+        // The in-memory database lives as long as at least one connection is open
+        keepAlive = dataSource.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE Categories (" +
+                    "category_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "category_name VARCHAR(100) NOT NULL, " +
+                    "description TEXT)");
+            stmt.execute("CREATE TABLE Products (" +
+                    "product_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "name VARCHAR(150) NOT NULL, " +
+                    "description TEXT, " +
+                    "price DECIMAL(10,2) NOT NULL, " +
+                    "category_id INT, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE Inventory (" +
+                    "inventory_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "product_id INT UNIQUE, " +
+                    "quantity_available INT NOT NULL)");
+            stmt.execute("INSERT INTO Categories (category_name) VALUES ('Books'), ('Games')");
+            stmt.execute("INSERT INTO Products (name, price, category_id) VALUES ('Atlas', 10.00, 1), ('Chess', 20.00, 2)");
+        }
+
+        productDAO = new ProductDAO(dataSource, "index");
+        categoryService = new CategoryService(new CategoryDAO(dataSource), productDAO);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    void renameReachesCachedProductsAndBumpsTheCatalogVersion() {
+        assertEquals("Books", productDAO.getProductById(1).getCategoryName());
+        long version = productDAO.getCatalogVersion();
+
+        categoryService.updateCategory(1, category("Novels", "Fiction"));
+
+        assertTrue(productDAO.getCatalogVersion() > version, "listing ETags would still match");
+        assertEquals("Novels", productDAO.getProductById(1).getCategoryName());
+        assertEquals("Games", productDAO.getProductById(2).getCategoryName());
+    }
+
+    @Test
+    void descriptionChangeKeepsTheCatalogVersion() {
+        productDAO.getAllProducts();
+        long version = productDAO.getCatalogVersion();
+
+        categoryService.updateCategory(1, category("Books", "Printed"));
+
+        assertEquals(version, productDAO.getCatalogVersion());
+        assertEquals("Printed", categoryService.getCategoryById(1).getDescription());
+    }
+
+    private static Category category(String name, String description) {
+        Category category = new Category();
+        category.setCategoryName(name);
+        category.setDescription(description);
+        return category;
+    }
+}
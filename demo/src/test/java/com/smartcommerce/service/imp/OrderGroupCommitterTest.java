@@ -0,0 +1,208 @@
+package com.smartcommerce.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.smartcommerce.dao.implementation.CartItemDAO;
+import com.smartcommerce.dao.implementation.InventoryDAO;
+import com.smartcommerce.dao.implementation.OrderDAO;
+import com.smartcommerce.dao.implementation.OrderItemDAO;
+import com.smartcommerce.dao.implementation.ProductDAO;
+import com.smartcommerce.dao.implementation.UserDAO;
+import com.smartcommerce.exception.BusinessException;
+import com.smartcommerce.model.Order;
+
+/**
+ * Group commit of cart checkouts on H2: orders share one transaction, each on its own
+ * savepoint, and a failed order must leave no trace once the rest of its batch commits
+ */
+class OrderGroupCommitterTest {
+
+    private static final int ALICE = 1;
+    private static final int BOB = 2;
+    private static final int ATLAS = 1;
+    private static final int CHESS = 2;
+    private static final int INITIAL_STOCK = 10;
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+    private InventoryServiceImp inventoryService;
+    private OrderServiceImp orderService;
+    private OrderGroupCommitter committer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:group-commit-" + UUID.randomUUID() + ";MODE=MySQL");
+        // The in-memory database lives as long as at least one connection is open
+        keepAlive = dataSource.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE Users (" +
+                    "user_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "name VARCHAR(100) NOT NULL, " +
+                    "email VARCHAR(150) UNIQUE NOT NULL, " +
+                    "password VARCHAR(255) NOT NULL, " +
+                    "phone VARCHAR(20), " +
+                    "address TEXT, " +
+                    "role VARCHAR(20) DEFAULT 'user', " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE Categories (" +
+                    "category_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "category_name VARCHAR(100) NOT NULL, " +
+                    "description TEXT)");
+            stmt.execute("CREATE TABLE Products (" +
+                    "product_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "name VARCHAR(150) NOT NULL, " +
+                    "description TEXT, " +
+                    "price DECIMAL(10,2) NOT NULL, " +
+                    "category_id INT, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE Inventory (" +
+                    "inventory_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "product_id INT UNIQUE, " +
+                    "quantity_available INT NOT NULL, " +
+                    "last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE Orders (" +
+                    "order_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "user_id INT, " +
+                    "order_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "status VARCHAR(50), " +
+                    "total_amount DECIMAL(10,2))");
+            stmt.execute("CREATE TABLE OrderItems (" +
+                    "order_item_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "order_id INT, " +
+                    "product_id INT, " +
+                    "quantity INT NOT NULL, " +
+                    "unit_price DECIMAL(10,2) NOT NULL)");
+            stmt.execute("CREATE TABLE CartItems (" +
+                    "cart_item_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "user_id INT NOT NULL, " +
+                    "product_id INT NOT NULL, " +
+                    "quantity INT NOT NULL DEFAULT 1, " +
+                    "added_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "UNIQUE (user_id, product_id))");
+            stmt.execute("INSERT INTO Users (name, email, password) VALUES " +
+                    "('Alice', 'alice@example.com', 'x'), ('Bob', 'bob@example.com', 'x')");
+            stmt.execute("INSERT INTO Categories (category_name) VALUES ('Games')");
+            stmt.execute("INSERT INTO Products (name, price, category_id) VALUES ('Atlas', 10.00, 1), ('Chess', 20.00, 1)");
+            stmt.execute("INSERT INTO Inventory (product_id, quantity_available) VALUES " +
+                    "(" + ATLAS + ", " + INITIAL_STOCK + "), (" + CHESS + ", " + INITIAL_STOCK + ")");
+        }
+
+        InventoryDAO inventoryDAO = new InventoryDAO(dataSource);
+        ProductDAO productDAO = new ProductDAO(dataSource, "index");
+        inventoryService = new InventoryServiceImp(inventoryDAO, productDAO, 900000);
+        orderService = new OrderServiceImp(new OrderDAO(dataSource), new OrderItemDAO(dataSource),
+                new UserDAO(dataSource), productDAO, inventoryService, inventoryDAO, new CartItemDAO(dataSource));
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (committer != null) {
+            committer.shutdown();
+        }
+        executor.shutdownNow();
+        keepAlive.close();
+    }
+
+    @Test
+    void failedOrderLeavesItsBatchCommittedAndItsHoldsAndStockUntouched() throws Exception {
+        // A window long enough for both checkouts to land in one batch
+        committer = new OrderGroupCommitter(new DataSourceTransactionManager(dataSource), true, 500, 2, 1, 30000);
+
+        addToCart(ALICE, ATLAS, 2);
+        assertTrue(inventoryService.reserve(ALICE, ATLAS, 2));
+        // Bob holds no Atlas yet, so his checkout tops up the hold before it fails
+        addToCart(BOB, ATLAS, 3);
+        addToCart(BOB, CHESS, 5);
+        assertTrue(inventoryService.reserve(BOB, CHESS, 5));
+        // Sold elsewhere: the ledger still counts 10 Chess, so only the stock UPDATE finds Bob short
+        execute("UPDATE Inventory SET quantity_available = 1 WHERE product_id = " + CHESS);
+
+        Future<Order> alice = executor.submit(() -> committer.submit(() -> orderService.checkoutFromCart(ALICE)));
+        Future<Order> bob = executor.submit(() -> committer.submit(() -> orderService.checkoutFromCart(BOB)));
+
+        Order placed = alice.get();
+        ExecutionException failure = assertThrows(ExecutionException.class, bob::get);
+        assertInstanceOf(BusinessException.class, failure.getCause());
+        assertTrue(committer.getStats().contains("Commits: 1, Orders: 2"), committer.getStats());
+
+        assertEquals(1, count("SELECT COUNT(*) FROM Orders"));
+        assertEquals(ALICE, count("SELECT user_id FROM Orders WHERE order_id = " + placed.getOrderId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM CartItems WHERE user_id = " + ALICE));
+        assertEquals(2, count("SELECT COUNT(*) FROM CartItems WHERE user_id = " + BOB));
+        // Bob's Atlas decrement was rolled back to his savepoint; only Alice's sale remains
+        assertEquals(INITIAL_STOCK - 2, stockOf(ATLAS));
+        assertEquals(1, stockOf(CHESS));
+
+        // Alice's hold is consumed and Bob's top-up undone, so all committed Atlas stock is free again
+        assertEquals(INITIAL_STOCK - 2, inventoryService.getAvailableQuantity(ATLAS));
+        // Bob still holds his 5 Chess
+        assertEquals(5, inventoryService.getAvailableQuantity(CHESS, BOB) - inventoryService.getAvailableQuantity(CHESS));
+    }
+
+    @Test
+    void callerWaitsPastTheTimeoutForAnOrderAlreadyBeingWritten() {
+        committer = new OrderGroupCommitter(new DataSourceTransactionManager(dataSource), true, 0, 1, 1, 50);
+        CountDownLatch started = new CountDownLatch(1);
+
+        String result = committer.submit(() -> {
+            started.countDown();
+            try {
+                // Outlasts the caller's timeout while the flusher holds the order
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "written";
+        });
+
+        assertEquals(0, started.getCount());
+        assertEquals("written", result);
+    }
+
+    private void addToCart(int userId, int productId, int quantity) throws SQLException {
+        execute("INSERT INTO CartItems (user_id, product_id, quantity) VALUES (" +
+                userId + ", " + productId + ", " + quantity + ")");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private int stockOf(int productId) throws SQLException {
+        return count("SELECT quantity_available FROM Inventory WHERE product_id = " + productId);
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.smartcommerce.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.cache.ProductPageCache;
+import com.smartcommerce.dao.implementation.ProductDAO;
+import com.smartcommerce.dtos.request.ProductFilterDTO;
+import com.smartcommerce.model.Product;
+import com.smartcommerce.sorting.MergeSortStrategy;
+import com.smartcommerce.sorting.ProductSortField;
+
+/**
+ * The cached catalog path (columns, bitmaps, page cache) must answer every filtered page
+ * and count exactly like the SQL queries it replaces. Both run here against the same
+ * in-memory database: the service once the catalog is cached, the DAO's SQL directly.
+ *
+ * Search terms are left out: H2's REGEXP is a Java regex, which lacks the POSIX classes
+ * the SQL search condition relies on. Category names share one capitalization, since H2
+ * compares them case-sensitively where MySQL's default collation does not.
+ */
+class ProductServiceImplFilterTest {
+
+    private static final int PRODUCTS = 60;
+    private static final int PAGE_SIZE = 7;
+    private static final String[] CATEGORIES = {"Books", "Games", "Music"};
+
+    private Connection keepAlive;
+    private ProductDAO productDAO;
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:filters-" + UUID.randomUUID() + ";MODE=MySQL");
+        // The in-memory database lives as long as at least one connection is open
+        keepAlive = dataSource.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE Categories (" +
+                    "category_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "category_name VARCHAR(100) NOT NULL)");
+            stmt.execute("CREATE TABLE Products (" +
+                    "product_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "name VARCHAR(150) NOT NULL, " +
+                    "description TEXT, " +
+                    "price DECIMAL(10,2) NOT NULL, " +
+                    "category_id INT, " +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("CREATE TABLE Inventory (" +
+                    "inventory_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "product_id INT UNIQUE, " +
+                    "quantity_available INT NOT NULL)");
+            for (String category : CATEGORIES) {
+                stmt.execute("INSERT INTO Categories (category_name) VALUES ('" + category + "')");
+            }
+        }
+        insertProducts(new Random(42));
+
+        productDAO = new ProductDAO(dataSource, "index");
+        productService = new ProductServiceImpl(productDAO, null, new MergeSortStrategy<>(), new ProductPageCache(1024));
+        // Warm the catalog so the service filters in memory
+        productDAO.getAllProducts();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    void cachedPagesMatchSqlForEveryFilterCombination() {
+        for (ProductFilterDTO filters : filterCombinations()) {
+            for (ProductSortField sortField : ProductSortField.values()) {
+                assertPagesMatchSql(filters, sortField, false);
+                assertPagesMatchSql(filters, sortField, true);
+            }
+        }
+    }
+
+    @Test
+    void cachedCountsMatchSqlForEveryFilterCombination() {
+        for (ProductFilterDTO filters : filterCombinations()) {
+            assertEquals(productDAO.countProducts(filters), productService.countProductsWithFilters(filters),
+                    filters.toString());
+        }
+    }
+
+    @Test
+    void cachedPagesFollowWrites() {
+        ProductFilterDTO books = new ProductFilterDTO("Books", null, null, null, null);
+        assertPagesMatchSql(books, ProductSortField.PRICE, false);
+
+        // Make the cheapest book the most expensive one; the cached first page must not be served again
+        Product cheapest = productService.getProductsWithPaginationAndFilters(0, 1, "price", "ASC", books).get(0);
+        Product repriced = productDAO.getProductById(cheapest.getProductId());
+        repriced.setPrice(new BigDecimal("999.99"));
+        assertTrue(productDAO.updateProduct(repriced));
+
+        assertPagesMatchSql(books, ProductSortField.PRICE, false);
+        assertEquals(cheapest.getProductId(), productService
+                .getProductsWithPaginationAndFilters(0, 1, "price", "DESC", books).get(0).getProductId());
+    }
+
+    /**
+     * Compares every page, and the first page past the end, with the SQL page at the same offset
+     */
+    private void assertPagesMatchSql(ProductFilterDTO filters, ProductSortField sortField, boolean descending) {
+        assertNotNull(productDAO.getCatalogSnapshot(), "catalog is not cached");
+        String direction = descending ? "DESC" : "ASC";
+        for (int page = 0; ; page++) {
+            List<Integer> sql = ids(productDAO.findProducts(filters, sortField, descending,
+                    (long) page * PAGE_SIZE, PAGE_SIZE));
+            List<Integer> cached = ids(productService.getProductsWithPaginationAndFilters(
+                    page, PAGE_SIZE, sortField.name().replace("_", ""), direction, filters));
+            assertEquals(sql, cached, filters + " " + sortField + " " + direction + " page " + page);
+            if (sql.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private static List<ProductFilterDTO> filterCombinations() {
+        List<ProductFilterDTO> combinations = new ArrayList<>();
+        for (String category : Arrays.asList(null, "Books", "Music", "Toys")) {
+            for (BigDecimal minPrice : Arrays.asList(null, new BigDecimal("10.005"), new BigDecimal("25.00"))) {
+                for (BigDecimal maxPrice : Arrays.asList(null, new BigDecimal("40.00"))) {
+                    for (Boolean inStock : Arrays.asList(null, true, false)) {
+                        combinations.add(new ProductFilterDTO(category, minPrice, maxPrice, null, inStock));
+                    }
+                }
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * Products with repeated names, prices and creation times, a few without a category,
+     * creation time or inventory row, and both in-stock and out-of-stock quantities
+     */
+    private void insertProducts(Random random) throws SQLException {
+        try (PreparedStatement product = keepAlive.prepareStatement(
+                "INSERT INTO Products (name, price, category_id, created_at) VALUES (?, ?, ?, ?)");
+             PreparedStatement inventory = keepAlive.prepareStatement(
+                     "INSERT INTO Inventory (product_id, quantity_available) VALUES (?, ?)")) {
+            for (int id = 1; id <= PRODUCTS; id++) {
+                product.setString(1, "Item " + random.nextInt(20));
+                product.setBigDecimal(2, BigDecimal.valueOf(random.nextInt(5000), 2));
+                product.setObject(3, random.nextInt(8) == 0 ? null : random.nextInt(CATEGORIES.length) + 1);
+                product.setTimestamp(4, random.nextInt(6) == 0
+                        ? null
+                        : new Timestamp(1_700_000_000_000L + random.nextInt(10) * 86_400_000L));
+                product.executeUpdate();
+
+                if (random.nextInt(10) != 0) {
+                    inventory.setInt(1, id);
+                    inventory.setInt(2, random.nextBoolean() ? 0 : random.nextInt(1, 50));
+                    inventory.executeUpdate();
+                }
+            }
+        }
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getProductId).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package com.smartcommerce.sorting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.sorting.SortingTestData.Item;
+
+class AdaptiveSortStrategyTest {
+
+    private final AdaptiveSortStrategy<Item> strategy = new AdaptiveSortStrategy<>();
+
+    @Test
+    void sortsLikeListSort() {
+        SortingTestData.assertSortsLikeListSort(strategy);
+    }
+
+    @Test
+    void choosesByPresortednessPrefixAndKeyType() {
+        List<Item> random = SortingTestData.inputs(10_000, 3).get("random");
+        List<Item> ascending = SortingTestData.inputs(10_000, 3).get("ascending");
+        List<Item> nearlySorted = new ArrayList<>(ascending);
+        for (int i = 100; i < nearlySorted.size(); i += 1000) {
+            Collections.swap(nearlySorted, i, i + 500);
+        }
+        LongKeyComparator<Item> longKey = LongKeyComparator.comparingLong(Item::key);
+
+        assertEquals(AdaptiveSortStrategy.ALREADY_SORTED, strategy.choose(ascending, longKey, 10_000));
+        assertEquals(AdaptiveSortStrategy.NEARLY_SORTED, strategy.choose(nearlySorted, longKey, 10_000));
+        assertEquals(AdaptiveSortStrategy.TOP_K, strategy.choose(random, longKey, 10));
+        assertEquals(AdaptiveSortStrategy.RADIX, strategy.choose(random, longKey, 10_000));
+        assertEquals(AdaptiveSortStrategy.KEY_EXTRACTING,
+                strategy.choose(random, KeyedComparator.comparing(Item::name), 10_000));
+        assertEquals(AdaptiveSortStrategy.PARALLEL_MERGE,
+                strategy.choose(random, Comparator.comparingLong(Item::key), 10_000));
+    }
+
+    @Test
+    void recordsEveryCallUnderTheChosenAlgorithm() {
+        List<Item> random = SortingTestData.inputs(1000, 4).get("random");
+        List<Item> ascending = SortingTestData.inputs(1000, 4).get("ascending");
+        LongKeyComparator<Item> longKey = LongKeyComparator.comparingLong(Item::key);
+
+        strategy.sort(random, longKey);
+        strategy.sort(random, longKey);
+        strategy.sortTopK(random, longKey, 5);
+        strategy.sort(ascending, longKey);
+
+        Map<String, Long> calls = strategy.getMetrics().snapshot().stream()
+                .collect(Collectors.toMap(SortMetrics.AlgorithmStats::algorithm, SortMetrics.AlgorithmStats::calls));
+        assertEquals(Map.of(AdaptiveSortStrategy.RADIX, 2L,
+                AdaptiveSortStrategy.TOP_K, 1L,
+                AdaptiveSortStrategy.ALREADY_SORTED, 1L), calls);
+    }
+}
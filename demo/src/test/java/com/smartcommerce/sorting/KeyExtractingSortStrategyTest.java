@@ -0,0 +1,39 @@
+package com.smartcommerce.sorting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.sorting.SortingTestData.Item;
+
+class KeyExtractingSortStrategyTest {
+
+    private final KeyExtractingSortStrategy<Item> strategy = new KeyExtractingSortStrategy<>();
+
+    @Test
+    void sortsLikeListSort() {
+        SortingTestData.assertSortsLikeListSort(strategy);
+    }
+
+    @Test
+    void extractsEachKeyOnce() {
+        List<Item> items = SortingTestData.inputs(5000, 1).get("random");
+        AtomicInteger textKeys = new AtomicInteger();
+        AtomicInteger longKeys = new AtomicInteger();
+
+        strategy.sort(items, KeyedComparator.comparing(item -> {
+            textKeys.incrementAndGet();
+            return item.name();
+        }));
+        strategy.sortTopK(items, LongKeyComparator.<Item>comparingLong(item -> {
+            longKeys.incrementAndGet();
+            return item.key();
+        }).reversed(), 10);
+
+        assertEquals(items.size(), textKeys.get());
+        assertEquals(items.size(), longKeys.get());
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartcommerce.sorting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.sorting.SortingTestData.Item;
+
+class ParallelMergeSortStrategyTest {
+
+    private final ParallelMergeSortStrategy<Item> strategy = new ParallelMergeSortStrategy<>();
+
+    @Test
+    void sortsLikeListSort() {
+        SortingTestData.assertSortsLikeListSort(strategy);
+    }
+
+    @Test
+    void parallelMergesKeepEqualKeysInInputOrder() {
+        // Every fork-join range holds the same few keys, so runs of equal keys span task boundaries
+        int size = ParallelMergeSortStrategy.PARALLEL_THRESHOLD * 4 + 3;
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(i % 3, "item", i));
+        }
+
+        List<Item> sorted = strategy.sort(items, Comparator.comparingLong(Item::key));
+
+        for (int i = 1; i < size; i++) {
+            Item previous = sorted.get(i - 1);
+            Item current = sorted.get(i);
+            assertTrue(previous.key() < current.key()
+                    || (previous.key() == current.key() && previous.position() < current.position()),
+                    "out of order at " + i);
+        }
+    }
+
+    @Test
+    void nullInputSortsToAnEmptyList() {
+        assertEquals(List.of(), strategy.sort(null, Comparator.comparingLong(Item::key)));
+    }
+}
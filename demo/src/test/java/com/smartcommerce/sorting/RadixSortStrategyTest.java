@@ -0,0 +1,47 @@
+package com.smartcommerce.sorting;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.sorting.SortingTestData.Item;
+
+class RadixSortStrategyTest {
+
+    private final RadixSortStrategy<Item> strategy = new RadixSortStrategy<>();
+
+    @Test
+    void sortsLikeListSort() {
+        SortingTestData.assertSortsLikeListSort(strategy);
+    }
+
+    @Test
+    void extremeKeysSortAtTheEnds() {
+        // Long.MIN_VALUE is the key ProductSortField gives missing prices and creation times
+        long[] keys = {0, Long.MAX_VALUE, -1, Long.MIN_VALUE, 1, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < RadixSortStrategy.MIN_RADIX_SIZE; i++) {
+            items.add(new Item(keys[i % keys.length], "item", i));
+        }
+        LongKeyComparator<Item> ascending = LongKeyComparator.comparingLong(Item::key);
+
+        List<Item> expected = new ArrayList<>(items);
+        expected.sort(ascending);
+        assertEquals(expected, strategy.sort(items, ascending));
+
+        expected.sort(ascending.reversed());
+        assertEquals(expected, strategy.sort(items, ascending.reversed()));
+        assertEquals(Long.MIN_VALUE, expected.get(expected.size() - 1).key());
+    }
+
+    @Test
+    void sortIndicesOrdersUnsignedAndKeepsTiesInPlace() {
+        long[] keys = {3, -1, 3, 0, 256, 1L << 40, 0};
+
+        assertArrayEquals(new int[]{3, 6, 0, 2, 4, 5, 1}, RadixSortStrategy.sortIndices(keys));
+    }
+}
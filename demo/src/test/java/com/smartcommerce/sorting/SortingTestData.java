@@ -0,0 +1,110 @@
+package com.smartcommerce.sorting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Inputs shared by the sort strategy tests, and the check that a strategy orders them
+ * exactly like List.sort. Items remember their input position, so comparing the results
+ * as lists also checks that equal keys keep their input order.
+ */
+final class SortingTestData {
+
+    // Around the insertion-sort cutoff, the radix minimum and the parallel threshold
+    static final int[] SIZES = {0, 1, 2, 31, 33, 300, 20_000};
+
+    private SortingTestData() {
+    }
+
+    record Item(long key, String name, int position) {
+    }
+
+    /**
+     * Random, duplicate-heavy, negative (with the long extremes), descending and
+     * ascending inputs of the given size
+     */
+    static Map<String, List<Item>> inputs(int size, long seed) {
+        Random random = new Random(seed);
+        Map<String, List<Item>> inputs = new LinkedHashMap<>();
+        inputs.put("random", items(size, i -> random.nextLong()));
+        inputs.put("duplicates", items(size, i -> random.nextInt(4)));
+        inputs.put("negative", items(size, i -> switch (random.nextInt(20)) {
+            case 0 -> Long.MIN_VALUE;
+            case 1 -> Long.MAX_VALUE;
+            default -> -random.nextInt(1000);
+        }));
+        inputs.put("descending", items(size, i -> (size - i) / 2));
+        inputs.put("ascending", items(size, i -> i / 3));
+        return inputs;
+    }
+
+    /**
+     * Plain, long-key and text-key comparators, each ascending and descending
+     */
+    static Map<String, Comparator<Item>> comparators() {
+        Map<String, Comparator<Item>> comparators = new LinkedHashMap<>();
+        Comparator<Item> plain = Comparator.comparingLong(Item::key);
+        comparators.put("plain", plain);
+        comparators.put("plain desc", plain.reversed());
+        LongKeyComparator<Item> longKey = LongKeyComparator.comparingLong(Item::key);
+        comparators.put("long key", longKey);
+        comparators.put("long key desc", longKey.reversed());
+        KeyedComparator<Item, String> textKey = KeyedComparator.comparing(Item::name);
+        comparators.put("text key", textKey);
+        comparators.put("text key desc", textKey.reversed());
+        return comparators;
+    }
+
+    /**
+     * Checks sort and sortTopK against List.sort for every input, size and comparator
+     */
+    static void assertSortsLikeListSort(SortStrategy<Item> strategy) {
+        for (int size : SIZES) {
+            for (Map.Entry<String, List<Item>> input : inputs(size, size).entrySet()) {
+                List<Item> items = input.getValue();
+                List<Item> original = List.copyOf(items);
+                for (Map.Entry<String, Comparator<Item>> comparator : comparators().entrySet()) {
+                    String message = strategy.getAlgorithmName() + ", " + input.getKey() + " x" + size
+                            + ", " + comparator.getKey();
+                    List<Item> expected = new ArrayList<>(items);
+                    expected.sort(comparator.getValue());
+
+                    assertEquals(expected, strategy.sort(items, comparator.getValue()), message);
+                    for (int limit : limits(size)) {
+                        assertEquals(expected.subList(0, Math.min(limit, size)),
+                                strategy.sortTopK(items, comparator.getValue(), limit),
+                                message + ", first " + limit);
+                    }
+                    assertEquals(original, items, message + " modified its input");
+                }
+            }
+        }
+    }
+
+    /**
+     * Prefix lengths on both sides of the point where strategies switch from a heap to a full sort
+     */
+    private static int[] limits(int size) {
+        return new int[]{0, 1, 10, size / 16, size / 4, size / 4 + 1, size, size + 5};
+    }
+
+    private interface KeyFunction {
+        long key(int position);
+    }
+
+    private static List<Item> items(int size, KeyFunction keys) {
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long key = keys.key(i);
+            // Few distinct names, so text keys are duplicate-heavy too
+            items.add(new Item(key, "item-" + Math.floorMod(key, 97), i));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,33 @@
+package com.smartcommerce.sorting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.smartcommerce.sorting.SortingTestData.Item;
+
+class TopKSortStrategyTest {
+
+    private final TopKSortStrategy<Item> strategy = new TopKSortStrategy<>();
+
+    @Test
+    void sortsLikeListSort() {
+        SortingTestData.assertSortsLikeListSort(strategy);
+    }
+
+    @Test
+    void heapKeepsTheEarliestOfEqualKeys() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item(i % 2, "item", i));
+        }
+
+        List<Item> top = strategy.sortTopK(items, Comparator.comparingLong(Item::key), 5);
+
+        assertEquals(List.of(0, 2, 4, 6, 8), top.stream().map(Item::position).toList());
+    }
+}